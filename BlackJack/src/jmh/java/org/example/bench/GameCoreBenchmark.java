@@ -0,0 +1,109 @@
+package org.example.bench; // Déclare le package des benchmarks JMH.
+
+import org.example.game.BlackjackRound; // Importe la logique de manche.
+import org.example.game.Card; // Importe la représentation des cartes.
+import org.example.game.Hand; // Importe les mains du jeu.
+import org.example.game.OutcomeReason; // Importe les raisons d'issue.
+import org.example.game.RoundOutcome; // Importe l'issue de manche.
+import org.example.game.Shoe; // Importe le sabot.
+import org.example.game.StandardRng; // Importe les générateurs rapides.
+import org.openjdk.jmh.annotations.Benchmark; // Importe l'annotation de benchmark.
+import org.openjdk.jmh.annotations.BenchmarkMode; // Importe le choix du mode de mesure.
+import org.openjdk.jmh.annotations.Fork; // Importe la configuration des forks.
+import org.openjdk.jmh.annotations.Level; // Importe les niveaux de préparation.
+import org.openjdk.jmh.annotations.Measurement; // Importe la configuration des mesures.
+import org.openjdk.jmh.annotations.Mode; // Importe les modes de mesure.
+import org.openjdk.jmh.annotations.OutputTimeUnit; // Importe l'unité de sortie.
+import org.openjdk.jmh.annotations.Scope; // Importe la portée de l'état.
+import org.openjdk.jmh.annotations.Setup; // Importe la préparation de l'état.
+import org.openjdk.jmh.annotations.State; // Importe l'annotation d'état.
+import org.openjdk.jmh.annotations.Warmup; // Importe la configuration de la chauffe.
+import org.openjdk.jmh.infra.Blackhole; // Importe le puits anti-élimination.
+
+import java.util.SplittableRandom; // Importe SplittableRandom pour des graines reproductibles.
+import java.util.concurrent.TimeUnit; // Importe TimeUnit pour l'unité de sortie.
+
+@BenchmarkMode(Mode.Throughput) // Mesure le débit en opérations par unité de temps.
+@OutputTimeUnit(TimeUnit.MICROSECONDS) // Exprime les résultats en opérations par microseconde.
+@Warmup(iterations = 3, time = 1) // Trois itérations de chauffe d'une seconde.
+@Measurement(iterations = 5, time = 1) // Cinq itérations mesurées d'une seconde.
+@Fork(1) // Un seul fork JVM par benchmark.
+@State(Scope.Thread) // État propre à chaque thread de mesure.
+public class GameCoreBenchmark { // Benchmarks du cœur métier, lancés avec le profil Maven « jmh ».
+    private static final int BET = 500; // Mise utilisée pour les manches complètes.
+
+    private Hand hand; // Main de trois cartes pour le calcul du total.
+    private Card hidden; // Carte supplémentaire incluse dans le total.
+    private Card card; // Carte dont on lit les points.
+    private BlackjackRound round; // Manche réutilisée d'une invocation à l'autre.
+    private int payout; // Paiement variable pour la création d'issue.
+
+    @Setup(Level.Trial) // Préparation unique par essai.
+    public void setUp() { // Initialise les objets partagés.
+        hand = new Hand(); // Crée la main.
+        hand.add(Card.of("A", "S")); // Ajoute un as.
+        hand.add(Card.of("7", "H")); // Ajoute un sept.
+        hand.add(Card.of("K", "D")); // Ajoute un roi.
+        hidden = Card.of("5", "C"); // Carte cachée simulée.
+        card = Card.of("Q", "H"); // Carte dont on lit les points.
+        SplittableRandom seeds = new SplittableRandom(42); // Graines reproductibles.
+        round = new BlackjackRound(new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, StandardRng.SPLITTABLE, seeds::nextLong)); // Manche sur un sabot rapide.
+    }
+
+    @State(Scope.Thread) // Sabot propre à chaque thread, réservé aux benchmarks du sabot.
+    public static class ShoeState { // Isole le sabot : les autres benchmarks n'en paient pas la préparation.
+        Shoe shoe; // Sabot mélangé une fois, remélangé en bloc à la carte de coupe.
+
+        @Setup(Level.Trial) // Préparation unique par essai.
+        public void setUp() { // Crée le sabot.
+            SplittableRandom seeds = new SplittableRandom(7); // Graines reproductibles.
+            shoe = new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, StandardRng.SPLITTABLE, seeds::nextLong); // Sabot de table.
+        }
+    }
+
+    @Benchmark
+    public Shoe shoeShuffle(ShoeState state) { // Coût d'un remélange complet du sabot en place.
+        state.shoe.shuffle(); // Remet les cartes en ordre canonique puis mélange.
+        return state.shoe; // Retourne le sabot pour éviter l'élimination.
+    }
+
+    @Benchmark
+    public Card shoeDraw(ShoeState state) { // Coût d'un tirage, remélange à la coupe amorti comme en jeu.
+        if (state.shoe.needsShuffle()) { // Carte de coupe atteinte.
+            state.shoe.shuffle(); // Remélange en bloc, une fois par sabot.
+        }
+        return state.shoe.draw(); // Retourne la carte tirée.
+    }
+
+    @Benchmark
+    public int handTotal() { // Coût du total d'une main.
+        return hand.total(); // Retourne le total.
+    }
+
+    @Benchmark
+    public int handTotalWithHidden() { // Coût du total incluant la carte cachée.
+        return hand.total(hidden); // Retourne le total complet.
+    }
+
+    @Benchmark
+    public int cardPoints() { // Coût de la lecture des points d'une carte.
+        return card.points(); // Retourne les points.
+    }
+
+    @Benchmark
+    public RoundOutcome fullRound() { // Coût d'une manche complète start() → settle().
+        round.start(); // Distribue les cartes.
+        if (!round.isPlayerNaturalBlackjack()) { // Le joueur joue seulement sans blackjack naturel.
+            while (round.playerTotal() < 17) { // Tire jusqu'à 17 comme le croupier.
+                round.playerHit(); // Ajoute une carte.
+            }
+            round.playDealerTurn(); // Le croupier joue.
+        }
+        return round.settle(BET); // Règle la manche.
+    }
+
+    @Benchmark
+    public void roundOutcomeCreation(Blackhole bh) { // Coût de création d'une issue de manche.
+        bh.consume(new RoundOutcome(OutcomeReason.HIGHER_TOTAL, payout++)); // Construit et consomme l'issue.
+    }
+}
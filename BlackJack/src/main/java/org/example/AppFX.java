@@ -1,6 +1,7 @@
 package org.example; // Déclare le package principal de l'application.
 
 import javafx.application.Application; // Importe la classe de base JavaFX.
+import javafx.application.Platform; // Importe Platform pour revenir sur le thread JavaFX.
 import javafx.geometry.Insets; // Importe Insets pour gérer les marges.
 import javafx.geometry.Pos; // Importe Pos pour aligner les conteneurs.
 import javafx.scene.Scene; // Importe Scene pour créer des scènes JavaFX.
@@ -10,17 +11,21 @@ import javafx.fxml.FXMLLoader; // Importe FXMLLoader pour charger le logo décri
 import javafx.scene.image.Image; // Importe Image pour charger les ressources bitmap.
 import javafx.scene.image.ImageView; // Importe ImageView pour afficher les logos bitmaps à l'écran.
 import javafx.scene.layout.*; // Importe les conteneurs de mise en page.
+import javafx.stage.Screen; // Importe Screen pour connaître l'échelle HiDPI.
 import javafx.stage.Stage; // Importe Stage pour la fenêtre principale.
+import org.example.db.AsyncDatabaseService; // Importe la façade non bloquante de la base.
 import org.example.db.DatabaseService; // Importe le service de base de données.
-import org.example.db.DatabaseService.UserCredentials; // Importe le type de résultat de login.
+import org.example.db.InsufficientFundsException; // Importe le refus de mise pour solde insuffisant.
 import org.example.game.BlackjackRound; // Importe la logique métier du blackjack.
 import org.example.game.RoundOutcome; // Importe l'issue de manche.
 import org.example.ui.GameRenderer; // Importe le moteur de rendu du plateau.
 
 import java.util.Objects; // Importe Objects pour valider les ressources.
+import java.util.concurrent.CompletionException; // Importe CompletionException pour déballer les erreurs asynchrones.
 
 public class AppFX extends Application { // Classe principale JavaFX.
-    private final DatabaseService database = new DatabaseService(); // Service SQL centralisé.
+    private final AsyncDatabaseService database = new AsyncDatabaseService(new DatabaseService(), Platform::runLater); // Service SQL hors du thread JavaFX, résultats rendus sur ce thread.
+    private final AuthService auth = new AuthService(database.sync(), Platform::runLater); // Connexion et inscription sur un pool bcrypt borné.
     private final BlackjackRound round = new BlackjackRound(); // État métier d'une manche.
 
     private Stage stage; // Référence vers la fenêtre principale.
@@ -38,14 +43,19 @@ public class AppFX extends Application { // Classe principale JavaFX.
     private Button btnChangeBet; // Bouton pour modifier la mise.
     private Button btnApplyBet; // Bouton pour appliquer une nouvelle mise.
     private Button btnCloseBet; // Bouton pour fermer l'éditeur de mise.
+    private Button btnLogout; // Bouton pour se déconnecter.
     private Spinner<Integer> spBet; // Spinner utilisé dans l'éditeur de mise.
     private HBox betEditor; // Conteneur affichant l'éditeur de mise.
 
     private long userId = -1L; // Identifiant joueur connecté.
+    private String loginToken; // Jeton « se souvenir de moi » du joueur connecté, null sinon.
+    private boolean resumeAbandoned; // Le joueur a saisi ses identifiants : la reconnexion par jeton est ignorée.
     private long sessionId = -1L; // Identifiant de la session en cours.
     private int currentBet = 500; // Mise actuelle sélectionnée.
     private int balanceCached = 0; // Solde mis en cache pour le HUD.
     private String resultMsg = ""; // Message de résultat affiché sur le plateau.
+    private boolean dbPending; // Une écriture en base est en cours : les actions sont suspendues.
+    private boolean roundLive; // La mise de la manche courante est enregistrée.
 
     @Override
     public void start(Stage primaryStage) { // Point d'entrée JavaFX.
@@ -54,9 +64,8 @@ public class AppFX extends Application { // Classe principale JavaFX.
         stage.setMinWidth(960);   // taille minimum fenetre
         stage.setMinHeight(600); // taille maximal fenetre
 
-        Image tableImage = loadImage("/background/tapis.png"); // Charge le visuel du tapis.
-        Image backImage = loadImage("/card/BACK.png"); // Charge l'image du dos de carte.
-        renderer = new GameRenderer(tableImage, backImage); // Instancie le renderer avec les ressources.
+        renderer = new GameRenderer(); // Instancie le renderer.
+        renderer.preload(Screen.getPrimary().getOutputScaleX()); // Décode atlas ou cartes en arrière-plan pendant l'écran de connexion.
 
         loginScene = buildLoginScene(); // Construit la scène de connexion.
         stage.setScene(loginScene); // Affiche la scène initiale.
@@ -66,6 +75,35 @@ public class AppFX extends Application { // Classe principale JavaFX.
         stage.setHeight(720); // Ajuste la hauteur pour équilibrer la carte horizontale.
         stage.centerOnScreen(); // Centre la fenêtre.
         stage.show(); // Affiche la fenêtre.
+        resumeSession(); // Tente la reconnexion par jeton pendant que la connexion s'affiche.
+    }
+
+    private void resumeSession() { // Reconnecte automatiquement le joueur du poste via son jeton.
+        String token = TokenStore.load(); // Jeton enregistré au dernier login.
+        if (token == null) { // Aucun jeton.
+            return; // Connexion par mot de passe.
+        }
+        auth.resume(token).whenComplete((login, error) -> { // Une recherche indexée, sans bcrypt.
+            if (error != null) { // Base indisponible : le formulaire reste utilisable.
+                return; // Connexion par mot de passe.
+            }
+            if (login.status() != AuthService.Status.OK) { // Jeton expiré ou révoqué.
+                TokenStore.clear(); // Oublie le jeton.
+                return; // Connexion par mot de passe.
+            }
+            if (resumeAbandoned || userId >= 0) { // Le joueur a saisi ses identifiants entre-temps.
+                return; // Ne change pas de scène.
+            }
+            userId = login.userId(); // Mémorise l'identifiant.
+            loginToken = token; // Conserve le jeton pour la déconnexion.
+            enterBetScene(null, null); // Crédite le bonus quotidien puis affiche la mise.
+        });
+    }
+
+    @Override
+    public void stop() { // Appelé à la fermeture de l'application.
+        auth.close(); // Arrête le pool d'authentification.
+        database.close(); // Ferme proprement le pool de connexions.
     }
 
     private Image loadImage(String path) { // Charge une image en gérant les erreurs.
@@ -123,6 +161,8 @@ public class AppFX extends Application { // Classe principale JavaFX.
         pfPassword.getStyleClass().add("input-cream"); // Applique le style crème au champ mot de passe.
         pfPassword.setPrefWidth(320); // Harmonise la largeur avec le champ email élargi.
 
+        CheckBox cbRemember = new CheckBox("Se souvenir de moi"); // Reconnexion automatique sur ce poste, désactivée par défaut.
+
         Label message = new Label(); // Label pour afficher les erreurs.
         message.getStyleClass().add("login-msg"); // Utilise le style rouge doux prévu pour les messages.
         message.setWrapText(true); // Autorise le retour à la ligne dans l'encart horizontal.
@@ -139,7 +179,7 @@ public class AppFX extends Application { // Classe principale JavaFX.
         HBox actions = new HBox(12, btnLogin, btnSignup); // Regroupe les boutons.
         actions.setAlignment(Pos.CENTER_LEFT); // Aligne les actions sur la gauche du formulaire.
 
-        form.getChildren().addAll(title, tfEmail, pfPassword, actions, message); // Assemble le formulaire.
+        form.getChildren().addAll(title, tfEmail, pfPassword, cbRemember, actions, message); // Assemble le formulaire.
         card.getChildren().addAll(branding, form); // Place les deux colonnes dans la carte horizontale.
         root.widthProperty().addListener((obs, oldVal, newVal) -> { // Observe l'évolution de la largeur de la scène.
             double targetWidth = Math.min(760, newVal.doubleValue() - 160); // Calcule une largeur idéale tout en conservant une marge latérale.
@@ -155,20 +195,41 @@ public class AppFX extends Application { // Classe principale JavaFX.
                 message.setText("Veuillez remplir les deux champs."); // Affiche une erreur.
                 return; // Annule la connexion.
             }
-            UserCredentials creds = database.findUserByEmail(email); // Cherche l'utilisateur.
-            if (creds == null) { // Aucun utilisateur correspondant.
-                message.setText("Utilisateur introuvable."); // Affiche une erreur.
-                return; // Stoppe la procédure.
+            if (userId >= 0) { // Déjà reconnecté par jeton, la scène de mise arrive.
+                return; // Ignore la soumission.
             }
-            if (!SecurityUtil.checkPwd(rawPwd, creds.hash())) { // Vérifie le mot de passe.
-                message.setText("Mot de passe incorrect."); // Informe de l'échec.
-                return; // Stoppe la procédure.
-            }
-            userId = creds.id(); // Mémorise l'identifiant.
-            database.applyDailyCredit(userId); // Déclenche le crédit quotidien.
-            refreshBalance(); // Met à jour le solde local.
-            betScene = buildBetScene(); // Construit la scène de mise.
-            switchScene(betScene); // Affiche la scène suivante.
+            resumeAbandoned = true; // La reconnexion par jeton ne doit plus changer de compte.
+            btnLogin.setDisable(true); // Empêche une double soumission.
+            message.setText("Connexion en cours…"); // Signale l'attente.
+            auth.login(email, rawPwd, cbRemember.isSelected()).whenComplete((login, error) -> { // Recherche et bcrypt hors du thread JavaFX.
+                if (error != null) { // Erreur d'accès à la base ou trop de tentatives.
+                    btnLogin.setDisable(false); // Réactive le bouton.
+                    message.setText("Erreur: " + errorMessage(error)); // Affiche l'erreur.
+                    return; // Stoppe la procédure.
+                }
+                if (login.status() == AuthService.Status.UNKNOWN_USER) { // Aucun utilisateur correspondant.
+                    btnLogin.setDisable(false); // Réactive le bouton.
+                    message.setText("Utilisateur introuvable."); // Affiche une erreur.
+                    return; // Stoppe la procédure.
+                }
+                if (login.status() == AuthService.Status.BAD_PASSWORD) { // Mot de passe refusé.
+                    btnLogin.setDisable(false); // Réactive le bouton.
+                    message.setText("Mot de passe incorrect."); // Informe de l'échec.
+                    return; // Stoppe la procédure.
+                }
+                userId = login.userId(); // Mémorise l'identifiant.
+                String previous = TokenStore.load(); // Jeton éventuel laissé par un login précédent sur ce poste.
+                if (previous != null) { // Remplacé ou abandonné.
+                    auth.logout(previous); // Révoque l'ancien jeton en base.
+                }
+                loginToken = login.token(); // Null si le joueur n'a pas coché « se souvenir de moi ».
+                if (loginToken != null) { // Reconnexion automatique demandée.
+                    TokenStore.save(loginToken); // Les prochains lancements éviteront bcrypt.
+                } else { // Pas de reconnexion automatique.
+                    TokenStore.clear(); // Oublie un éventuel jeton d'un joueur précédent.
+                }
+                enterBetScene(message, btnLogin); // Crédite le bonus quotidien puis affiche la mise.
+            });
         });
 
         btnSignup.setOnAction(e -> { // Déclare l'action d'inscription.
@@ -324,16 +385,21 @@ public class AppFX extends Application { // Classe principale JavaFX.
                 return;
             }
 
-            try {
-                long id = database.createUser(email, pseudo, p1);   // création
-                userId = id;
-                database.applyDailyCredit(userId);                  // bonus quotidien
-                refreshBalance();
-                betScene = buildBetScene();
-                switchScene(betScene);
-            } catch (RuntimeException ex) {
-                message.setText("Erreur: " + ex.getMessage());
+            if (userId >= 0) {                                      // déjà reconnecté par jeton
+                return;
             }
+            resumeAbandoned = true;                                 // la reconnexion par jeton ne change plus de compte
+            btnCreate.setDisable(true);                             // évite une double création
+            message.setText("Création du compte…");
+            auth.signup(email, pseudo, p1).whenComplete((id, error) -> {   // hachage et création hors du thread JavaFX
+                if (error != null) {
+                    btnCreate.setDisable(false);
+                    message.setText("Erreur: " + errorMessage(error));
+                    return;
+                }
+                userId = id;
+                enterBetScene(message, btnCreate);                  // bonus quotidien puis mise
+            });
         });
 
 
@@ -348,6 +414,38 @@ public class AppFX extends Application { // Classe principale JavaFX.
     }
 
 
+    private void enterBetScene(Label message, Button trigger) { // Crédite le bonus quotidien puis affiche la scène de mise.
+        database.applyDailyCredit(userId).whenComplete((balance, error) -> { // Crédit hors du thread JavaFX.
+            if (error != null) { // Échec du crédit.
+                if (trigger != null) { // Connexion manuelle (null pour la reconnexion par jeton).
+                    trigger.setDisable(false); // Réactive le bouton d'origine.
+                    message.setText("Erreur: " + errorMessage(error)); // Affiche l'erreur.
+                } else { // Reconnexion automatique.
+                    userId = -1L; // Le joueur se connectera par mot de passe.
+                }
+                return; // Reste sur la scène courante.
+            }
+            balanceCached = balance; // Solde retourné par la base.
+            betScene = buildBetScene(); // Construit la scène de mise.
+            switchScene(betScene); // Affiche la scène suivante.
+        });
+    }
+
+    private void logout() { // Rend le poste : révoque le jeton, supprime le fichier et revient à la connexion.
+        if (loginToken != null) { // Reconnexion automatique active.
+            auth.logout(loginToken); // Révoque le jeton en base.
+            loginToken = null; // Oublie le jeton.
+        }
+        TokenStore.clear(); // Supprime le fichier du poste.
+        userId = -1L; // Plus aucun joueur connecté.
+        sessionId = -1L; // Plus de session en cours.
+        balanceCached = 0; // Efface le solde affiché.
+        resultMsg = ""; // Efface le dernier message.
+        roundLive = false; // Aucune manche en cours.
+        loginScene = buildLoginScene(); // Formulaire vierge.
+        switchScene(loginScene); // Affiche la connexion.
+    }
+
     private Scene buildBetScene() { // Construit la scène de sélection de mise.
         VBox root = new VBox(16); // Conteneur vertical principal.
         root.setAlignment(Pos.CENTER); // Centre les éléments.
@@ -369,22 +467,19 @@ public class AppFX extends Application { // Classe principale JavaFX.
 
         Button btnStart = new Button("Commencer"); // Bouton pour lancer la manche.
         btnStart.getStyleClass().add("btn-primary"); // Applique le style vert principal au bouton de démarrage.
-        root.getChildren().addAll(info, spinner, btnStart, error);// Assemble la scène.
+        Button btnQuit = new Button("Déconnexion"); // Bouton pour rendre le poste.
+        btnQuit.getStyleClass().addAll("btn-primary", "btn-soft"); // Variante douce pour l'action secondaire.
+        btnQuit.setOnAction(e -> logout()); // Déconnecte le joueur.
+        root.getChildren().addAll(info, spinner, btnStart, btnQuit, error);// Assemble la scène.
 
         btnStart.setOnAction(e -> { // Action de démarrage.
             currentBet = spinner.getValue(); // Enregistre la mise choisie.
             if (!ensureBetAffordable(error)){   // Vérifie que la mise est viable.
                 return;
             } // Annule en cas d'impossibilité.
-            startNewRound(); // Initialise une nouvelle manche.
             gameScene = buildGameScene(); // Construit la scène de jeu.
             switchScene(gameScene); // Affiche la scène.
-            redrawGame(); // Dessine l'état initial.
-            if (round.isPlayerNaturalBlackjack()) { // Vérifie un blackjack naturel.
-                finishRound(round.settle(currentBet)); // Termine immédiatement la manche.
-                redrawGame(); // Met à jour l'affichage.
-            }
-            syncButtons(); // Ajuste l'état des boutons.
+            startNewRound(); // Initialise une nouvelle manche.
         });
 
         Scene scene = new Scene(root, 600, 600); // Crée la scène JavaFX.
@@ -413,7 +508,10 @@ public class AppFX extends Application { // Classe principale JavaFX.
         btnChangeBet = new Button("Changer mise"); // Bouton pour ouvrir l'éditeur de mise.
         btnChangeBet.getStyleClass().add("btn-primary"); // Applique le style vert sur le bouton de changement de mise.
 
-        HBox actions = new HBox(10, btnChangeBet, btnHit, btnStay, btnNewRound); // Regroupe les boutons d'action.
+        btnLogout = new Button("Déconnexion"); // Bouton pour rendre le poste.
+        btnLogout.getStyleClass().addAll("btn-primary", "btn-soft"); // Variante douce pour l'action secondaire.
+
+        HBox actions = new HBox(10, btnChangeBet, btnHit, btnStay, btnNewRound, btnLogout); // Regroupe les boutons d'action.
         actions.setAlignment(Pos.CENTER); // Centre la rangée.
         actions.setPadding(new Insets(10)); // Ajoute un espace interne.
 
@@ -447,14 +545,9 @@ public class AppFX extends Application { // Classe principale JavaFX.
                 return; // Stoppe si insuffisant.
             }
             startNewRound(); // Relance une manche.
-            redrawGame(); // Redessine l'état initial.
-            if (round.isPlayerNaturalBlackjack()) { // Vérifie le blackjack naturel.
-                finishRound(round.settle(currentBet)); // Clôture instantanément.
-                redrawGame(); // Actualise l'affichage.
-            }
-            syncButtons(); // Met à jour l'état des boutons.
         });
         btnChangeBet.setOnAction(e -> openBetEditor()); // Affiche l'éditeur de mise.
+        btnLogout.setOnAction(e -> logout()); // Déconnecte le joueur.
         btnApplyBet.setOnAction(e -> applyBetEditor()); // Applique une nouvelle mise.
         btnCloseBet.setOnAction(e -> betEditor.setVisible(false)); // Ferme l'éditeur sans changement.
         spBet.getEditor().setOnAction(e -> applyBetEditor()); // Valide la mise avec Entrée.
@@ -465,13 +558,33 @@ public class AppFX extends Application { // Classe principale JavaFX.
         return scene; // Retourne la scène prête.
     }
 
-    private void startNewRound() { // Prépare une nouvelle manche.
-        resultMsg = ""; // Réinitialise le message affiché.
+    private void startNewRound() { // Prépare une nouvelle manche ; le jeu attend l'enregistrement de la mise.
         round.start(); // Relance la logique de jeu.
-        sessionId = database.startSession(userId); // Ouvre une session en base.
-        database.placeBet(userId, sessionId, currentBet); // Débite la mise.
-        refreshBalance(); // Actualise le solde après débit.
-        syncButtons(); // Met à jour les boutons.
+        roundLive = false; // La mise n'est pas encore enregistrée.
+        dbPending = true; // Suspend les actions pendant l'écriture.
+        resultMsg = "Mise en cours…"; // Signale l'attente.
+        redrawGame(); // Affiche l'état d'attente.
+        syncButtons(); // Désactive les boutons.
+        database.openRound(userId, round.roundSeed().encode(), currentBet) // Session avec la graine du sabot et mise, en une écriture.
+                .whenComplete((opened, error) -> { // Mise enregistrée ou refusée.
+                    dbPending = false; // Réactive les actions.
+                    if (unwrap(error) instanceof InsufficientFundsException refused) { // Solde insuffisant : aucune session n'a été créée.
+                        balanceCached = refused.balance(); // Resynchronise le solde affiché.
+                        resultMsg = refused.getMessage(); // Affiche le refus.
+                    } else if (error != null) { // La mise n'a pas pu être enregistrée.
+                        resultMsg = "Erreur: " + errorMessage(error); // Affiche l'erreur.
+                    } else { // Mise enregistrée.
+                        sessionId = opened.sessionId(); // Mémorise la session.
+                        balanceCached = opened.balance(); // Solde retourné par la base.
+                        roundLive = true; // La manche peut se jouer.
+                        resultMsg = ""; // Efface le message d'attente.
+                        if (round.isPlayerNaturalBlackjack()) { // Vérifie un blackjack naturel.
+                            finishRound(round.settle(currentBet)); // Termine immédiatement la manche.
+                        }
+                    }
+                    redrawGame(); // Met à jour l'affichage.
+                    syncButtons(); // Ajuste l'état des boutons.
+                });
     }
 
     private void handlePlayerHit() { // Logique du bouton "Tirer".
@@ -479,8 +592,11 @@ public class AppFX extends Application { // Classe principale JavaFX.
             return; // Ignore si déjà terminée.
         }
         round.playerHit(); // Ajoute une carte à la main du joueur.
-        if (round.playerTotal() >= 21) { // Si le joueur atteint ou dépasse 21.
-            round.playDealerTurn(); // Laisse le croupier jouer pour révéler les cartes.
+        if (round.playerTotal() > 21) { // Le joueur dépasse 21 : perdu quoi que tire le croupier.
+            round.revealDealer(); // Retourne la carte cachée sans faire tirer le croupier.
+            finishRound(round.settle(currentBet)); // Termine la manche.
+        } else if (round.playerTotal() == 21) { // Le joueur atteint 21.
+            round.playDealerTurn(); // Le croupier joue jusqu'à 17.
             finishRound(round.settle(currentBet)); // Termine la manche et crédite les gains.
         }
         redrawGame(); // Actualise le rendu.
@@ -498,23 +614,36 @@ public class AppFX extends Application { // Classe principale JavaFX.
     }
 
     private void finishRound(RoundOutcome outcome) { // Applique le règlement de la manche.
-        database.settle(userId, sessionId, outcome.payout(), outcome.result()); // Synchronise les finances en base.
-        refreshBalance(); // Met à jour le solde pour le HUD.
-        switch (outcome.result()) { // Adapte le message affiché.
-            case "WIN" -> resultMsg = outcome.message(); // Message positif.
-            case "LOSE" -> resultMsg = outcome.message(); // Message négatif.
-            case "PUSH" -> resultMsg = outcome.message(); // Message neutre.
-            default -> resultMsg = ""; // Aucun message dans les autres cas.
-        }
+        dbPending = true; // Suspend les actions pendant l'écriture.
+        resultMsg = outcome.message(); // Résout le message localisé pour l'affichage.
+        database.settle(userId, sessionId, outcome.payout(), outcome.result()).whenComplete((balance, error) -> { // Synchronise les finances hors du thread JavaFX.
+            dbPending = false; // Réactive les actions.
+            if (error != null) { // Le règlement n'a pas pu être enregistré.
+                resultMsg = "Erreur: " + errorMessage(error); // Affiche l'erreur.
+            } else { // Règlement enregistré.
+                balanceCached = balance; // Solde retourné par la base pour le HUD.
+            }
+            redrawGame(); // Met à jour l'affichage.
+            syncButtons(); // Ajuste l'état des boutons.
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) { // Retire l'enveloppe d'une erreur asynchrone.
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error; // Erreur d'origine.
+    }
+
+    private static String errorMessage(Throwable error) { // Extrait un message lisible d'une erreur asynchrone.
+        return unwrap(error).getMessage(); // Retourne le message.
     }
 
     private void syncButtons() { // Ajuste l'état des boutons en fonction de la manche.
-        boolean settled = round.isSettled(); // Lit l'état courant.
+        boolean playing = roundLive && !round.isSettled(); // La manche est en cours de jeu.
         if (btnHit != null) { // Vérifie que les contrôles sont initialisés.
-            btnHit.setDisable(settled); // Désactive Tirer si la manche est finie.
-            btnStay.setDisable(settled); // Désactive Rester si la manche est finie.
-            btnNewRound.setDisable(!settled); // Active Nouvelle manche uniquement après règlement.
-            btnChangeBet.setDisable(!settled); // Autorise le changement de mise seulement après règlement.
+            btnHit.setDisable(!playing || dbPending); // Désactive Tirer hors manche ou pendant une écriture.
+            btnStay.setDisable(!playing || dbPending); // Désactive Rester hors manche ou pendant une écriture.
+            btnNewRound.setDisable(playing || dbPending); // Active Nouvelle manche uniquement après règlement.
+            btnChangeBet.setDisable(playing || dbPending); // Autorise le changement de mise seulement après règlement.
+            btnLogout.setDisable(playing || dbPending); // Déconnexion seulement entre deux manches.
         }
     }
 
@@ -590,10 +719,6 @@ public class AppFX extends Application { // Classe principale JavaFX.
     }
 
 
-    private void refreshBalance() { // Met à jour le solde en cache.
-        balanceCached = database.getBalance(userId); // Interroge la base.
-    }
-
     private void switchScene(Scene scene) { // Change la scène affichée.
         stage.setScene(scene); // Applique la nouvelle scène.
         stage.centerOnScreen(); // Centre la fenêtre sur l'écran.
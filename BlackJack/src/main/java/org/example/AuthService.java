@@ -0,0 +1,137 @@
+package org.example; // Déclare le package principal de l'application.
+
+import org.example.db.DatabaseService; // Importe le service de base de données.
+
+import java.util.Arrays; // Importe Arrays pour trier les mesures.
+import java.util.concurrent.ArrayBlockingQueue; // Importe la file bornée des tâches de hachage.
+import java.util.concurrent.CompletableFuture; // Importe CompletableFuture pour les résultats différés.
+import java.util.concurrent.Executor; // Importe Executor pour le thread de retour.
+import java.util.concurrent.RejectedExecutionException; // Importe l'exception de file pleine.
+import java.util.concurrent.Semaphore; // Importe Semaphore pour limiter les tentatives simultanées.
+import java.util.concurrent.ThreadPoolExecutor; // Importe ThreadPoolExecutor pour le pool borné.
+import java.util.concurrent.TimeUnit; // Importe TimeUnit pour le pool.
+import java.util.concurrent.atomic.AtomicInteger; // Importe AtomicInteger pour nommer les threads.
+import java.util.function.Supplier; // Importe Supplier pour décrire une tâche.
+
+public final class AuthService implements AutoCloseable { // Connexion et inscription hors du thread JavaFX, avec coût bcrypt calibré.
+    public enum Status { OK, UNKNOWN_USER, BAD_PASSWORD } // Issue d'une tentative de connexion.
+
+    public record Login(Status status, long userId, String token) { } // Résultat d'une connexion (userId vaut -1 et token null en cas d'échec).
+
+    private static final int MIN_COST = 10; // Coût plancher accepté.
+    private static final int MAX_COST = 16; // Coût plafond (≈ 4 s par hash sur une machine lente).
+    private static final int TOKEN_DAYS = 30; // Validité d'un jeton de connexion.
+    private static final String CALIBRATION_PWD = "calibration-Blackjack-1!"; // Mot de passe jetable de mesure.
+    private static final int CALIBRATION_SAMPLES = 5; // Mesures dont on garde la médiane.
+
+    private final DatabaseService database; // Accès aux utilisateurs.
+    private final Executor callback; // Thread sur lequel les promesses sont complétées.
+    private final ThreadPoolExecutor workers; // Pool borné pour bcrypt.
+    private final Semaphore attempts; // Tentatives acceptées simultanément (en cours ou en attente).
+    private volatile int cost = SecurityUtil.DEFAULT_COST; // Coût courant, remplacé après calibrage.
+
+    public AuthService(DatabaseService database, Executor callback) { // Pool de la moitié des cœurs, calibré sur 250 ms.
+        this(database, callback, Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 16, 250); // Réglages par défaut.
+    }
+
+    public AuthService(DatabaseService database, Executor callback, int threads, int maxAttempts, long targetMillis) { // Pool et objectif explicites.
+        this.database = database; // Mémorise le service.
+        this.callback = callback; // Mémorise l'exécuteur de retour.
+        AtomicInteger ids = new AtomicInteger(); // Numérotation des threads.
+        this.workers = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(maxAttempts), r -> { // Jamais plus de threads que prévu.
+            Thread t = new Thread(r, "auth-" + ids.incrementAndGet()); // Nom lisible.
+            t.setDaemon(true); // N'empêche pas l'arrêt de la JVM.
+            return t; // Retourne le thread.
+        });
+        this.workers.allowCoreThreadTimeOut(true); // Libère les threads au repos.
+        this.attempts = new Semaphore(maxAttempts); // Rafale de connexions : les excédentaires sont refusées immédiatement.
+        workers.execute(() -> cost = calibrate(targetMillis)); // Calibre en tâche de fond ; DEFAULT_COST sert en attendant.
+    }
+
+    static int calibrate(long targetMillis) { // Plus grand coût dont un hash tient dans l'objectif.
+        SecurityUtil.hashPwd(CALIBRATION_PWD, MIN_COST); // Préchauffe le JIT.
+        double[] samples = new double[CALIBRATION_SAMPLES]; // Durées observées.
+        for (int i = 0; i < samples.length; i++) { // Plusieurs mesures : une seule serait faussée par une machine chargée.
+            long start = System.nanoTime(); // Début de la mesure.
+            SecurityUtil.hashPwd(CALIBRATION_PWD, MIN_COST); // Mesure au coût plancher.
+            samples[i] = (System.nanoTime() - start) / 1e6; // Durée en millisecondes.
+        }
+        Arrays.sort(samples); // Trie pour lire la médiane.
+        double millis = Math.max(1e-3, samples[samples.length / 2]); // Médiane, insensible à un pic isolé.
+        int chosen = MIN_COST; // Coût retenu.
+        while (chosen < MAX_COST && millis * 2 <= targetMillis) { // Chaque point de coût double la durée.
+            chosen++; // Monte d'un cran.
+            millis *= 2; // Durée estimée.
+        }
+        return chosen; // Retourne le coût.
+    }
+
+    public int cost() { // Coût bcrypt courant.
+        return cost; // Retourne le coût.
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) { // Exécute une tentative sur le pool borné.
+        CompletableFuture<T> result = new CompletableFuture<>(); // Promesse exposée à l'appelant.
+        if (!attempts.tryAcquire()) { // Trop de tentatives en cours.
+            result.completeExceptionally(new IllegalStateException("Trop de tentatives, réessayez dans un instant.")); // Refuse sans consommer de CPU.
+            return result; // Retourne la promesse échouée.
+        }
+        try { // Soumet la tâche.
+            workers.execute(() -> { // Exécute sur un thread du pool.
+                try { // Calcule puis rend la main.
+                    T value = task.get(); // Exécute la tentative.
+                    callback.execute(() -> result.complete(value)); // Notifie sur le thread de retour.
+                } catch (RuntimeException e) { // Échec de la tentative.
+                    callback.execute(() -> result.completeExceptionally(e)); // Notifie l'erreur.
+                } finally { // Libère la place.
+                    attempts.release(); // Autorise une nouvelle tentative.
+                }
+            });
+        } catch (RejectedExecutionException e) { // Pool fermé.
+            attempts.release(); // Libère la place.
+            result.completeExceptionally(e); // Notifie l'erreur.
+        }
+        return result; // Retourne la promesse.
+    }
+
+    public CompletableFuture<Login> login(String email, String rawPwd, boolean remember) { // Vérifie les identifiants ; émet un jeton seulement si le joueur le demande.
+        return submit(() -> { // Sur le pool borné.
+            DatabaseService.UserCredentials creds = database.findUserByEmail(email); // Cherche l'utilisateur.
+            if (creds == null) { // Aucun utilisateur correspondant.
+                return new Login(Status.UNKNOWN_USER, -1L, null); // Échec.
+            }
+            if (!SecurityUtil.checkPwd(rawPwd, creds.hash())) { // Vérifie le mot de passe.
+                return new Login(Status.BAD_PASSWORD, -1L, null); // Échec.
+            }
+            int target = cost; // Coût courant.
+            if (SecurityUtil.costOf(creds.hash()) < target) { // Hash plus faible que le coût courant : jamais de rétrogradation.
+                database.updatePasswordHash(creds.id(), creds.hash(), SecurityUtil.hashPwd(rawPwd, target)); // Re-hache de façon transparente.
+            }
+            String token = remember ? database.issueLoginToken(creds.id(), TOKEN_DAYS) : null; // Jeton pour les prochains lancements, sur demande.
+            return new Login(Status.OK, creds.id(), token); // Succès.
+        });
+    }
+
+    public CompletableFuture<Login> resume(String token) { // Reconnecte via un jeton : une recherche indexée, sans bcrypt.
+        return submit(() -> { // Sur le pool borné (rapide, mais compte dans la limite de tentatives).
+            Long userId = database.findUserByToken(token); // Valide le jeton.
+            return userId == null ? new Login(Status.UNKNOWN_USER, -1L, null) : new Login(Status.OK, userId, token); // Jeton inconnu ou expiré.
+        });
+    }
+
+    public CompletableFuture<Void> logout(String token) { // Révoque un jeton côté base (déconnexion).
+        return submit(() -> { // Sur le pool borné.
+            database.revokeLoginToken(token); // Supprime l'empreinte.
+            return null; // Rien à retourner.
+        });
+    }
+
+    public CompletableFuture<Long> signup(String email, String pseudo, String rawPwd) { // Crée un compte avec le coût calibré.
+        return submit(() -> database.createUserHashed(email, pseudo, SecurityUtil.hashPwd(rawPwd, cost))); // Hache puis insère sur le pool borné.
+    }
+
+    @Override
+    public void close() { // Arrête le pool.
+        workers.shutdownNow(); // Abandonne les tentatives en attente.
+    }
+}
@@ -2,11 +2,20 @@ package org.example;
 import org.mindrot.jbcrypt.BCrypt;
 public class SecurityUtil {
 
+    public static final int DEFAULT_COST = 12;
+
     public static String hashPwd(String raw) {
-        return BCrypt.hashpw(raw, BCrypt.gensalt(12));
+        return hashPwd(raw, DEFAULT_COST);
+    }
+    public static String hashPwd(String raw, int cost) {
+        return BCrypt.hashpw(raw, BCrypt.gensalt(cost));
     }
     static boolean checkPwd(String raw, String hashed) {
         return BCrypt.checkpw(raw, hashed);
     }
+    static int costOf(String hashed) {
+        // format $2a$12$... : le coût occupe les deux chiffres après le deuxième '$'
+        return Integer.parseInt(hashed.substring(4, 6));
+    }
 
 }
@@ -0,0 +1,40 @@
+package org.example; // Déclare le package principal de l'application.
+
+import java.io.IOException; // Importe IOException pour les erreurs de fichier.
+import java.nio.charset.StandardCharsets; // Importe l'encodage du fichier.
+import java.nio.file.Files; // Importe Files pour lire et écrire le fichier.
+import java.nio.file.Path; // Importe Path pour représenter le chemin.
+
+final class TokenStore { // Fichier local contenant le jeton de connexion du poste.
+    private TokenStore() { // Classe utilitaire non instanciable.
+    }
+
+    private static Path file() { // Chemin du fichier, à côté de la base.
+        return Path.of(System.getenv("APPDATA") + "\\Blackjack", "session.token"); // Dossier applicatif.
+    }
+
+    static String load() { // Lit le jeton enregistré ; null s'il n'y en a pas.
+        try { // Le fichier peut être absent.
+            Path path = file(); // Chemin du jeton.
+            return Files.exists(path) ? Files.readString(path, StandardCharsets.UTF_8).strip() : null; // Retourne le jeton.
+        } catch (IOException e) { // Fichier illisible.
+            return null; // Retombe sur la connexion par mot de passe.
+        }
+    }
+
+    static void save(String token) { // Enregistre le jeton pour le prochain lancement.
+        try { // Échec sans gravité : il faudra se reconnecter.
+            Path path = file(); // Chemin du jeton.
+            Files.createDirectories(path.getParent()); // Crée le dossier si besoin.
+            Files.writeString(path, token, StandardCharsets.UTF_8); // Écrit le jeton.
+        } catch (IOException ignore) { // Ignore l'erreur.
+        }
+    }
+
+    static void clear() { // Supprime le jeton (expiré ou révoqué).
+        try { // Échec sans gravité.
+            Files.deleteIfExists(file()); // Supprime le fichier.
+        } catch (IOException ignore) { // Ignore l'erreur.
+        }
+    }
+}
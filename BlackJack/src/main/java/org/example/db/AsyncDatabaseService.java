@@ -0,0 +1,94 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import org.example.game.RoundResult; // Importe le résultat typé d'une manche.
+
+import java.util.List; // Importe List pour les règlements groupés.
+import java.util.concurrent.CompletableFuture; // Importe CompletableFuture pour les résultats différés.
+import java.util.concurrent.Executor; // Importe Executor pour le thread de retour.
+import java.util.concurrent.ExecutorService; // Importe ExecutorService pour les threads d'exécution.
+import java.util.concurrent.Executors; // Importe Executors pour les threads virtuels.
+import java.util.function.Supplier; // Importe Supplier pour décrire un appel bloquant.
+
+public final class AsyncDatabaseService implements AutoCloseable { // Façade non bloquante au-dessus de DatabaseService.
+    private final DatabaseService database; // Service synchrone délégué.
+    private final ExecutorService io; // Exécute les appels bloquants (un thread virtuel par appel).
+    private final Executor callback; // Thread sur lequel les promesses sont complétées (ex. Platform::runLater).
+
+    public AsyncDatabaseService(DatabaseService database) { // Façade pour le code sans interface : complète sur le thread d'exécution.
+        this(database, Runnable::run); // Aucun changement de thread au retour.
+    }
+
+    public AsyncDatabaseService(DatabaseService database, Executor callback) { // Façade complétant ses promesses via l'exécuteur donné.
+        this.database = database; // Mémorise le service.
+        this.io = Executors.newVirtualThreadPerTaskExecutor(); // Un thread virtuel par appel : bloquer sur SQLite ne coûte rien.
+        this.callback = callback; // Mémorise l'exécuteur de retour.
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> task) { // Exécute un appel bloquant hors du thread appelant.
+        return deliver(CompletableFuture.supplyAsync(task, io)); // Ramène le résultat sur l'exécuteur de retour.
+    }
+
+    private <T> CompletableFuture<T> deliver(CompletableFuture<T> source) { // Complète une nouvelle promesse sur l'exécuteur de retour.
+        CompletableFuture<T> result = new CompletableFuture<>(); // Promesse exposée à l'appelant.
+        source.whenComplete((value, error) -> callback.execute(() -> { // Change de thread avant de notifier.
+            if (error != null) { // L'appel a échoué.
+                result.completeExceptionally(error); // Transmet l'erreur.
+            } else { // L'appel a réussi.
+                result.complete(value); // Transmet la valeur.
+            }
+        }));
+        return result; // Retourne la promesse.
+    }
+
+    public DatabaseService sync() { // Accès au service synchrone sous-jacent.
+        return database; // Retourne le délégué.
+    }
+
+    public CompletableFuture<DatabaseService.UserCredentials> findUserByEmail(String email) { // Recherche un utilisateur par email.
+        return call(() -> database.findUserByEmail(email)); // Délègue hors du thread appelant.
+    }
+
+    public CompletableFuture<Long> createUser(String email, String pseudo, String rawPwd) { // Crée un utilisateur (hachage compris).
+        return call(() -> database.createUser(email, pseudo, rawPwd)); // Délègue hors du thread appelant.
+    }
+
+    public CompletableFuture<Integer> applyDailyCredit(long userId) { // Crédite le bonus quotidien et retourne le solde.
+        return call(() -> database.applyDailyCredit(userId)); // Délègue hors du thread appelant.
+    }
+
+    public CompletableFuture<Integer> getBalance(long userId) { // Lit le solde actuel.
+        return call(() -> database.getBalance(userId)); // Délègue hors du thread appelant.
+    }
+
+    public CompletableFuture<Long> startSession(long userId, String seedRng) { // Ouvre une session de jeu.
+        return call(() -> database.startSession(userId, seedRng)); // Délègue hors du thread appelant.
+    }
+
+    public CompletableFuture<Integer> placeBet(long userId, long sessionId, int amount) { // Débite une mise et retourne le nouveau solde.
+        return deliver(CompletableFuture.supplyAsync(() -> database.placeBetAsync(userId, sessionId, amount), io) // Passe par l'écriture groupée si elle est active.
+                .thenCompose(f -> f)); // Attend la durabilité du lot.
+    }
+
+    public CompletableFuture<DatabaseService.OpenedRound> openRound(long userId, String seedRng, int amount) { // Ouvre une session et débite la mise en une écriture.
+        return deliver(CompletableFuture.supplyAsync(() -> database.openRoundAsync(userId, seedRng, amount), io) // Passe par l'écriture groupée si elle est active.
+                .thenCompose(f -> f)); // Attend la durabilité du lot.
+    }
+
+    public CompletableFuture<Integer> settle(long userId, long sessionId, int delta, RoundResult result) { // Règle une manche et retourne le nouveau solde.
+        return deliver(CompletableFuture.supplyAsync(() -> database.settleAsync(userId, sessionId, delta, result), io) // Passe par l'écriture groupée si elle est active.
+                .thenCompose(f -> f)); // Attend la durabilité du lot.
+    }
+
+    public CompletableFuture<Void> settleAll(List<DatabaseService.Settlement> settlements) { // Règle toutes les places d'une table.
+        return call(() -> { // Délègue hors du thread appelant.
+            database.settleAll(settlements); // Une transaction pour la table.
+            return null; // Aucun résultat.
+        });
+    }
+
+    @Override
+    public void close() { // Attend les appels en cours puis ferme le service.
+        io.close(); // Refuse les nouveaux appels et attend les derniers.
+        database.close(); // Ferme le pool.
+    }
+}
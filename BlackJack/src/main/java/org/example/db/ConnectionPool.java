@@ -0,0 +1,117 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import java.sql.Connection; // Importe Connection pour les connexions JDBC.
+import java.sql.DriverManager; // Importe DriverManager pour ouvrir les connexions.
+import java.sql.SQLException; // Importe SQLException pour les erreurs JDBC.
+import java.sql.Statement; // Importe Statement pour les PRAGMA.
+import java.util.ArrayList; // Importe ArrayList pour conserver les lecteurs.
+import java.util.List; // Importe List comme interface générique.
+import java.util.concurrent.ArrayBlockingQueue; // Importe la file bornée des lecteurs libres.
+import java.util.concurrent.BlockingQueue; // Importe l'interface de file bloquante.
+import java.util.concurrent.atomic.LongAdder; // Importe LongAdder pour les compteurs du cache de requêtes.
+import java.util.concurrent.locks.ReentrantLock; // Importe le verrou de l'écrivain unique.
+
+public final class ConnectionPool implements AutoCloseable { // Pool SQLite : un écrivain dédié et N lecteurs en mode WAL.
+    private final LongAdder cacheHits = new LongAdder(); // Requêtes préparées réutilisées.
+    private final LongAdder cacheMisses = new LongAdder(); // Requêtes préparées compilées.
+    private final PooledConnection writer; // Connexion unique autorisée à écrire.
+    private final ReentrantLock writeLock = new ReentrantLock(); // Sérialise l'accès à l'écrivain.
+    private final List<PooledConnection> readers = new ArrayList<>(); // Toutes les connexions de lecture.
+    private final BlockingQueue<PooledConnection> idleReaders; // Lecteurs disponibles.
+
+    public ConnectionPool(String dbPath, PoolConfig config) { // Ouvre l'écrivain puis les lecteurs.
+        try { // Tente l'ouverture des connexions.
+            Class.forName("org.sqlite.JDBC"); // Charge le driver JDBC SQLite.
+            String url = "jdbc:sqlite:" + dbPath + "?foreign_keys=on"; // URL commune à toutes les connexions.
+            Connection writerConnection = DriverManager.getConnection(url); // Ouvre l'écrivain en premier.
+            this.writer = new PooledConnection(writerConnection, cacheHits, cacheMisses); // Enveloppe avec son cache.
+            configure(writerConnection, config); // Applique les PRAGMA.
+            try (Statement st = writerConnection.createStatement()) { // Passe la base en WAL une seule fois (persistant).
+                st.execute("PRAGMA journal_mode=WAL"); // Les lectures ne bloquent plus les écritures.
+            }
+            this.idleReaders = new ArrayBlockingQueue<>(config.readers()); // Prépare la file des lecteurs.
+            for (int i = 0; i < config.readers(); i++) { // Ouvre chaque lecteur.
+                Connection connection = DriverManager.getConnection(url); // Ouvre la connexion.
+                PooledConnection reader = new PooledConnection(connection, cacheHits, cacheMisses); // Enveloppe avec son cache.
+                readers.add(reader); // Mémorise avant configuration pour la fermeture.
+                configure(connection, config); // Applique les PRAGMA.
+                idleReaders.add(reader); // Rend le lecteur disponible.
+            }
+        } catch (Exception e) { // Capture toute erreur.
+            close(); // Libère ce qui a pu être ouvert.
+            throw new RuntimeException("DB open", e); // Enveloppe l'exception dans une RuntimeException.
+        }
+    }
+
+    private static void configure(Connection connection, PoolConfig config) throws SQLException { // Applique les réglages de performance.
+        try (Statement st = connection.createStatement()) { // Statement pour les PRAGMA.
+            st.execute("PRAGMA foreign_keys = ON"); // Active les clés étrangères.
+            st.execute("PRAGMA synchronous = " + config.synchronous()); // Niveau de synchronisation disque.
+            st.execute("PRAGMA mmap_size = " + config.mmapSize()); // Taille de la projection mémoire.
+            st.execute("PRAGMA cache_size = " + config.cacheSize()); // Taille du cache de pages.
+            st.execute("PRAGMA busy_timeout = " + config.busyTimeoutMs()); // Attente maximale sur un verrou.
+        }
+    }
+
+    public <T> T read(SqlWork<T> work) { // Exécute une lecture sur un lecteur libre.
+        PooledConnection reader; // Lecteur emprunté.
+        try { // Attend un lecteur disponible.
+            reader = idleReaders.take(); // Bloque si tous les lecteurs sont occupés.
+        } catch (InterruptedException e) { // Interruption pendant l'attente.
+            Thread.currentThread().interrupt(); // Restaure le drapeau d'interruption.
+            throw new IllegalStateException("read interrompu", e); // Signale l'abandon.
+        }
+        try { // Exécute le travail.
+            return work.run(reader); // Retourne le résultat.
+        } catch (SQLException e) { // Capture les erreurs SQL.
+            throw new RuntimeException(e); // Propage l'erreur.
+        } finally { // Rend toujours le lecteur.
+            idleReaders.add(reader); // Remet le lecteur dans la file.
+        }
+    }
+
+    public <T> T write(SqlWork<T> work) { // Exécute une écriture sur l'écrivain unique.
+        writeLock.lock(); // Prend le verrou d'écriture.
+        try { // Exécute le travail.
+            return work.run(writer); // Retourne le résultat.
+        } catch (SQLException e) { // Capture les erreurs SQL.
+            throw new RuntimeException(e); // Propage l'erreur.
+        } finally { // Libère toujours le verrou.
+            writeLock.unlock(); // Rend l'écrivain.
+        }
+    }
+
+    public <T> T transaction(SqlWork<T> work) { // Exécute une écriture dans une transaction sur l'écrivain.
+        return write(connection -> { // Prend l'écrivain.
+            Connection raw = connection.raw(); // Connexion JDBC pour piloter la transaction.
+            boolean previous = raw.getAutoCommit(); // Sauvegarde l'état auto-commit.
+            raw.setAutoCommit(false); // Désactive l'auto-commit.
+            try { // Exécute le travail.
+                T result = work.run(connection); // Lance les requêtes.
+                raw.commit(); // Valide la transaction.
+                return result; // Retourne le résultat.
+            } catch (SQLException | RuntimeException ex) { // Capture toute erreur durant les requêtes.
+                raw.rollback(); // Annule la transaction.
+                throw ex; // Re-propage l'exception.
+            } finally { // Bloc de sortie.
+                raw.setAutoCommit(previous); // Restaure l'état initial.
+            }
+        });
+    }
+
+    public record CacheStats(long hits, long misses) { } // Compteurs du cache de requêtes préparées.
+
+    public CacheStats cacheStats() { // Instantané des compteurs du cache, toutes connexions confondues.
+        return new CacheStats(cacheHits.sum(), cacheMisses.sum()); // Additionne les compteurs.
+    }
+
+    @Override
+    public void close() { // Ferme toutes les connexions.
+        for (PooledConnection reader : readers) { // Parcourt les lecteurs.
+            reader.close(); // Ferme ses requêtes puis la connexion.
+        }
+        if (writer != null) { // L'écrivain a pu ne pas s'ouvrir.
+            writer.close(); // Ferme l'écrivain en dernier.
+        }
+    }
+}
@@ -1,30 +1,111 @@
 package org.example.db; // Déclare le package dédié aux opérations base de données.
 
 import org.example.SecurityUtil; // Importe l'utilitaire de hachage de mot de passe.
+import org.example.game.RoundResult; // Importe le résultat typé d'une manche.
 
+import java.io.Reader; // Importe Reader pour l'import CSV.
+import java.nio.charset.StandardCharsets; // Importe l'encodage des jetons.
 import java.nio.file.Files; // Importe Files pour manipuler le système de fichiers.
 import java.nio.file.Path; // Importe Path pour représenter les chemins.
+import java.security.MessageDigest; // Importe MessageDigest pour l'empreinte des jetons.
+import java.security.NoSuchAlgorithmException; // Importe l'exception d'algorithme absent.
+import java.security.SecureRandom; // Importe SecureRandom pour générer les jetons.
 import java.sql.*; // Importe les classes JDBC nécessaires.
+import java.util.Base64; // Importe Base64 pour encoder les jetons.
+import java.util.HexFormat; // Importe HexFormat pour encoder les empreintes.
+import java.util.ArrayList; // Importe ArrayList pour collecter les règlements groupés.
+import java.util.List; // Importe List pour les écritures groupées.
+import java.util.concurrent.CompletableFuture; // Importe CompletableFuture pour les écritures groupées asynchrones.
+import java.util.function.Consumer; // Importe Consumer pour diffuser l'historique ligne à ligne.
 
-public final class DatabaseService { // Service regroupant toutes les opérations SQL.
-    private final Connection connection; // Connexion JDBC active.
+public final class DatabaseService implements AutoCloseable { // Service regroupant toutes les opérations SQL.
+    private static final String SQL_FIND_USER = "SELECT id_utilisateur, hash_mdp FROM utilisateur WHERE email=?"; // Recherche par email.
+    private static final String SQL_UPDATE_HASH = "UPDATE utilisateur SET hash_mdp=? WHERE id_utilisateur=? AND hash_mdp=?"; // Re-hachage du mot de passe.
+    private static final String SQL_TOKEN_USER =
+            "SELECT id_utilisateur FROM login_token WHERE empreinte=? AND expire_at > datetime('now')"; // Validation d'un jeton (clé primaire).
+    private static final String SQL_TOKEN_INSERT =
+            "INSERT INTO login_token(empreinte, id_utilisateur, expire_at) VALUES (?, ?, datetime('now', ?))"; // Émission d'un jeton.
+    private static final String SQL_TOKEN_PURGE =
+            "DELETE FROM login_token WHERE id_utilisateur=? AND expire_at <= datetime('now')"; // Nettoyage des jetons expirés.
+    private static final String SQL_TOKEN_DELETE = "DELETE FROM login_token WHERE empreinte=?"; // Révocation d'un jeton.
+    private static final SecureRandom TOKENS = new SecureRandom(); // Source des jetons.
+    private static final String SQL_INSERT_USER = "INSERT INTO utilisateur(email,pseudo,hash_mdp) VALUES (?,?,?)"; // Création d'utilisateur.
+    private static final int DAILY_CREDIT = 1000; // Montant du crédit quotidien.
+    private static final String SQL_DAILY_WALLET = """
+            UPDATE wallet SET solde_actuel = solde_actuel + ?, last_daily_credit=date('now'), updated_at=datetime('now')
+            WHERE id_utilisateur=? AND date(last_daily_credit) < date('now')
+            RETURNING solde_actuel
+            """; // Verse le crédit quotidien s'il est dû et retourne le nouveau solde.
+    private static final String SQL_ADJUST_WALLET = """
+            UPDATE wallet SET solde_actuel = solde_actuel + ?, updated_at=datetime('now')
+            WHERE id_utilisateur=? AND solde_actuel + ? >= 0
+            RETURNING solde_actuel
+            """; // Ajuste le solde en une instruction, refuse un solde négatif et retourne le nouveau solde.
+    private static final String SQL_BALANCE = "SELECT solde_actuel FROM wallet WHERE id_utilisateur=?"; // Lecture du solde.
+    private static final String SQL_INSERT_SESSION = "INSERT INTO session_jeu(id_utilisateur, seed_rng) VALUES (?, ?)"; // Ouverture de session.
+    private static final String SQL_SESSION_SEED = "SELECT seed_rng FROM session_jeu WHERE id_session=?"; // Lecture de la graine.
+    private static final String SQL_INSERT_TXN =
+            "INSERT INTO txn(id_utilisateur,id_session,type,montant,solde_avant,solde_apres,note) VALUES (?,?,?,?,?,?,?)"; // Écriture au grand livre.
+    private static final String SQL_SESSION_BET = "UPDATE session_jeu SET mise_totale = mise_totale + ? WHERE id_session=?"; // Cumul des mises.
+    private static final String SQL_SESSION_SETTLE =
+            "UPDATE session_jeu SET gain_total=gain_total + ?, resultat=?, date_fin=datetime('now') WHERE id_session=?"; // Clôture de session.
+    private static final String SQL_LEDGER_FIRST = """
+            SELECT id_tx, id_session, type, montant, solde_avant, solde_apres, note, created_at FROM txn
+            WHERE id_utilisateur=? ORDER BY created_at DESC, id_tx DESC LIMIT ?
+            """; // Première page du grand livre (index idx_tx_user_page, reste de la ligne par rowid).
+    private static final String SQL_LEDGER_NEXT = """
+            SELECT id_tx, id_session, type, montant, solde_avant, solde_apres, note, created_at FROM txn
+            WHERE id_utilisateur=? AND (created_at, id_tx) < (?, ?) ORDER BY created_at DESC, id_tx DESC LIMIT ?
+            """; // Page suivante par clé : reprend juste après la dernière ligne lue.
+    private static final String SQL_ROUNDS_FIRST = """
+            SELECT id_session, date_debut, date_fin, mise_totale, gain_total, resultat FROM session_jeu
+            WHERE id_utilisateur=? ORDER BY date_debut DESC, id_session DESC LIMIT ?
+            """; // Première page des manches (index couvrant idx_sess_user_history).
+    private static final String SQL_ROUNDS_NEXT = """
+            SELECT id_session, date_debut, date_fin, mise_totale, gain_total, resultat FROM session_jeu
+            WHERE id_utilisateur=? AND (date_debut, id_session) < (?, ?) ORDER BY date_debut DESC, id_session DESC LIMIT ?
+            """; // Page suivante par clé.
+    private static final String SQL_STATS_SETTLE = """
+            INSERT INTO user_stats(id_utilisateur, manches, victoires, defaites, egalites, total_mise, resultat_net, plus_gros_gain)
+            SELECT id_utilisateur, 1, ? = 'WIN', ? = 'LOSE', ? = 'PUSH', mise_totale, gain_total - mise_totale, max(gain_total - mise_totale, 0)
+            FROM session_jeu WHERE id_session=?
+            ON CONFLICT(id_utilisateur) DO UPDATE SET
+              manches = manches + 1,
+              victoires = victoires + excluded.victoires,
+              defaites = defaites + excluded.defaites,
+              egalites = egalites + excluded.egalites,
+              total_mise = total_mise + excluded.total_mise,
+              resultat_net = resultat_net + excluded.resultat_net,
+              plus_gros_gain = max(plus_gros_gain, excluded.plus_gros_gain)
+            RETURNING manches, resultat_net, (SELECT pseudo FROM utilisateur u WHERE u.id_utilisateur = user_stats.id_utilisateur)
+            """; // Ajoute la manche réglée (une par session) aux statistiques et retourne la position au classement.
+    private static final String SQL_STATS = """
+            SELECT manches, victoires, defaites, egalites, total_mise, resultat_net, plus_gros_gain FROM user_stats WHERE id_utilisateur=?
+            """; // Lecture des statistiques d'un joueur.
+    private static final String SQL_ROLE = "SELECT role FROM utilisateur WHERE id_utilisateur=?"; // Lecture du rôle.
+    private static final String SQL_LEADERBOARD = """
+            SELECT s.id_utilisateur, u.pseudo, s.resultat_net, s.manches
+            FROM user_stats s JOIN utilisateur u ON u.id_utilisateur = s.id_utilisateur
+            """; // Chargement initial du classement.
 
-    public DatabaseService() { // Constructeur initialisant la connexion.
-        this.connection = openConnection(); // Ouvre la connexion SQLite.
-        ensureSchema(); // Crée les tables et triggers si besoin.
+    private final ConnectionPool pool; // Pool : un écrivain dédié et plusieurs lecteurs en WAL.
+    private volatile GroupCommitWriter groupCommit; // File d'écriture groupée optionnelle (null si désactivée).
+    private volatile Leaderboard leaderboard; // Classement en mémoire, chargé au premier accès.
+    private final HouseAnalytics analytics; // Cumuls de la banque pour l'administration.
+    private final LedgerCompactor compactor; // Archivage du grand livre.
+
+    public DatabaseService() { // Constructeur utilisant le fichier applicatif et les réglages par défaut.
+        this(resolveDbPath(), PoolConfig.defaults()); // Délègue au constructeur complet.
     }
 
-    private Connection openConnection() { // Établit la connexion SQLite.
-        try { // Tente l'ouverture de la base.
-            Class.forName("org.sqlite.JDBC"); // Charge le driver JDBC SQLite.
-            String dbPath = resolveDbPath(); // Calcule le chemin du fichier base.
-            return DriverManager.getConnection("jdbc:sqlite:" + dbPath + "?foreign_keys=on"); // Retourne la connexion configurée.
-        } catch (Exception e) { // Capture toute erreur.
-            throw new RuntimeException("DB open", e); // Enveloppe l'exception dans une RuntimeException.
-        }
+    public DatabaseService(String dbPath, PoolConfig config) { // Constructeur pour un fichier et des réglages donnés.
+        this.pool = new ConnectionPool(dbPath, config); // Ouvre l'écrivain et les lecteurs.
+        ensureSchema(); // Met le schéma à jour si besoin.
+        this.analytics = new HouseAnalytics(pool); // Partage le pool.
+        this.compactor = new LedgerCompactor(pool); // Partage le pool.
     }
 
-    private String resolveDbPath() { // Détermine le chemin du fichier SQLite.
+    private static String resolveDbPath() { // Détermine le chemin du fichier SQLite.
         String base = System.getenv("APPDATA") + "\\Blackjack"; // Localise le dossier applicatif.
         try { // Tente de créer le dossier s'il n'existe pas.
             Files.createDirectories(Path.of(base)); // Crée la hiérarchie nécessaire.
@@ -33,103 +114,58 @@ public final class DatabaseService { // Service regroupant toutes les opération
         return base + "\\blackjack.db"; // Retourne le chemin du fichier base.
     }
 
-    private void ensureSchema() { // Crée les tables et triggers requis.
-        String[] ddl = new String[] { // Tableau contenant chaque instruction SQL.
-                "PRAGMA foreign_keys = ON", // Active les clés étrangères.
-                """
-        CREATE TABLE IF NOT EXISTS utilisateur (
-          id_utilisateur   INTEGER PRIMARY KEY AUTOINCREMENT,
-          email            TEXT NOT NULL UNIQUE,
-          pseudo           TEXT NOT NULL,
-          hash_mdp         TEXT NOT NULL,
-          date_creation    TEXT NOT NULL DEFAULT (datetime('now')),
-          etat             TEXT NOT NULL DEFAULT 'actif',
-          role             TEXT NOT NULL DEFAULT 'user'
-        )
-        """, // Définition de la table utilisateur.
-                """
-        CREATE TABLE IF NOT EXISTS wallet (
-          id_utilisateur     INTEGER PRIMARY KEY,
-          solde_actuel       INTEGER NOT NULL,
-          last_daily_credit  TEXT NOT NULL,
-          created_at         TEXT NOT NULL DEFAULT (datetime('now')),
-          updated_at         TEXT NOT NULL DEFAULT (datetime('now')),
-          FOREIGN KEY (id_utilisateur) REFERENCES utilisateur(id_utilisateur) ON DELETE CASCADE
-        )
-        """, // Définition de la table wallet.
-                """
-        CREATE TABLE IF NOT EXISTS session_jeu (
-          id_session       INTEGER PRIMARY KEY AUTOINCREMENT,
-          id_utilisateur   INTEGER NOT NULL,
-          date_debut       TEXT NOT NULL DEFAULT (datetime('now')),
-          date_fin         TEXT,
-          mise_totale      INTEGER NOT NULL DEFAULT 0,
-          gain_total       INTEGER NOT NULL DEFAULT 0,
-          resultat         TEXT,
-          seed_rng         TEXT,
-          FOREIGN KEY (id_utilisateur) REFERENCES utilisateur(id_utilisateur) ON DELETE CASCADE
-        )
-        """, // Définition de la table des sessions.
-                """
-        CREATE TABLE IF NOT EXISTS txn (
-          id_tx          INTEGER PRIMARY KEY AUTOINCREMENT,
-          id_utilisateur INTEGER NOT NULL,
-          id_session     INTEGER,
-          type           TEXT NOT NULL,
-          montant        INTEGER NOT NULL,
-          solde_avant    INTEGER NOT NULL,
-          solde_apres    INTEGER NOT NULL,
-          note           TEXT,
-          created_at     TEXT NOT NULL DEFAULT (datetime('now')),
-          FOREIGN KEY (id_utilisateur) REFERENCES utilisateur(id_utilisateur) ON DELETE CASCADE,
-          FOREIGN KEY (id_session)     REFERENCES session_jeu(id_session) ON DELETE SET NULL
-        )
-        """, // Définition de la table des transactions.
-                """
-        CREATE TRIGGER IF NOT EXISTS trg_user_init_wallet
-        AFTER INSERT ON utilisateur
-        BEGIN
-          INSERT INTO wallet(id_utilisateur, solde_actuel, last_daily_credit, created_at, updated_at)
-          VALUES (NEW.id_utilisateur, 10000, date('now'), datetime('now'), datetime('now'));
-
-          INSERT INTO txn(id_utilisateur, id_session, type, montant, solde_avant, solde_apres, note)
-          VALUES (NEW.id_utilisateur, NULL, 'INIT', 10000, 0, 10000, 'Solde initial');
-        END;
-        """, // Trigger initialisant le portefeuille.
-                """
-        CREATE TRIGGER IF NOT EXISTS trg_tx_commit
-        AFTER INSERT ON txn
-        BEGIN
-          UPDATE wallet
-             SET solde_actuel = NEW.solde_apres,
-                 updated_at   = datetime('now')
-           WHERE id_utilisateur = NEW.id_utilisateur;
-        END;
-        """ // Trigger maintenant le solde cohérent.
-        }; // Termine le tableau DDL.
-
-        try (Statement st = connection.createStatement()) { // Utilise un Statement pour exécuter chaque requête.
-            connection.setAutoCommit(false); // Passe la connexion en mode transactionnel.
-            for (String sql : ddl) { // Parcourt chaque instruction.
-                String query = sql.trim(); // Nettoie les espaces superflus.
-                if (!query.isEmpty()) { // Ignore les chaînes vides.
-                    st.executeUpdate(query); // Exécute l'instruction SQL.
-                }
-            }
-            connection.commit(); // Valide la transaction.
-        } catch (SQLException e) { // Capture les erreurs SQL.
-            try { connection.rollback(); } catch (SQLException ignore) { } // Annule en cas d'erreur.
-            throw new RuntimeException("schema", e); // Rejette sous forme d'exception runtime.
-        } finally { // Bloc exécuté dans tous les cas.
-            try { connection.setAutoCommit(true); } catch (SQLException ignore) { } // Restaure l'auto-commit.
+    private void ensureSchema() { // Applique les migrations manquantes ; ne lit que user_version si le schéma est à jour.
+        new SchemaMigrator(pool).migrate(); // Scripts numérotés de db/migration.
+    }
+
+    @Override
+    public void close() { // Ferme toutes les connexions du pool.
+        GroupCommitWriter writer = groupCommit; // Lit la file d'écriture éventuelle.
+        if (writer != null) { // La file est active.
+            writer.close(); // Valide les écritures en attente avant de fermer.
+        }
+        pool.close(); // Délègue au pool.
+    }
+
+    public synchronized void enableGroupCommit(int maxBatch, long maxDelayMillis) { // Active la validation groupée des écritures du grand livre.
+        if (groupCommit == null) { // Active une seule fois.
+            groupCommit = new GroupCommitWriter(pool, maxBatch, maxDelayMillis); // Démarre l'écrivain unique.
+        }
+    }
+
+    private <T> CompletableFuture<T> submitWrite(SqlWork<T> work) { // Écrit via la file groupée si active, sinon immédiatement.
+        GroupCommitWriter writer = groupCommit; // Lit la file d'écriture éventuelle.
+        if (writer != null) { // File active.
+            return writer.submit(work); // La promesse aboutit quand le lot est durable.
+        }
+        try { // Pas de file : transaction immédiate.
+            return CompletableFuture.completedFuture(pool.transaction(work)); // Retourne le résultat déjà validé.
+        } catch (RuntimeException e) { // Échec de l'écriture.
+            return CompletableFuture.failedFuture(e); // Retourne une promesse échouée.
+        }
+    }
+
+    public CompletableFuture<Integer> placeBetAsync(long userId, long sessionId, int amount) { // Débite la mise via la file groupée ; retourne le nouveau solde.
+        if (amount <= 0) { // Valide le montant.
+            return CompletableFuture.failedFuture(new IllegalArgumentException("amount > 0")); // Refuse les montants invalides.
         }
+        return submitWrite(connection -> bet(connection, userId, sessionId, amount)); // Débit atomique dans le lot.
+    }
+
+    public CompletableFuture<Integer> settleAsync(long userId, long sessionId, int delta, RoundResult result) { // Règle la manche via la file groupée ; retourne le nouveau solde.
+        return submitWrite(connection -> payout(connection, userId, sessionId, delta, result)) // Crédit atomique dans le lot.
+                .thenApply(this::publish); // Met le classement à jour une fois le lot durable.
+    }
+
+    public ConnectionPool.CacheStats statementCacheStats() { // Compteurs de réutilisation des requêtes préparées.
+        return pool.cacheStats(); // Délègue au pool.
     }
 
     public record UserCredentials(long id, String hash) { } // Record exposant l'identifiant et le hash.
 
     public UserCredentials findUserByEmail(String email) { // Recherche un utilisateur par email.
-        try (PreparedStatement ps = connection.prepareStatement(
-                "SELECT id_utilisateur, hash_mdp FROM utilisateur WHERE email=?")) { // Prépare la requête.
+        return pool.read(connection -> { // Lit sur un lecteur, sans attendre l'écrivain.
+            PreparedStatement ps = connection.prepare(SQL_FIND_USER); // Réutilise la requête compilée.
             ps.setString(1, email); // Injecte l'email.
             try (ResultSet rs = ps.executeQuery()) { // Exécute la requête.
                 if (rs.next()) { // Si une ligne est trouvée.
@@ -137,173 +173,407 @@ public final class DatabaseService { // Service regroupant toutes les opération
                 }
                 return null; // Aucun utilisateur trouvé.
             }
-        } catch (SQLException e) { // Capture les erreurs SQL.
-            throw new RuntimeException(e); // Propage l'erreur.
-        }
+        });
     }
 
     public long createUser(String email, String pseudo, String rawPwd) { // Crée un utilisateur complet.
-        String hash = SecurityUtil.hashPwd(rawPwd); // Hache le mot de passe.
-        try (PreparedStatement ps = connection.prepareStatement(
-                "INSERT INTO utilisateur(email,pseudo,hash_mdp) VALUES (?,?,?)",
-                Statement.RETURN_GENERATED_KEYS)) { // Prépare l'insertion avec récupération d'identifiant.
-            ps.setString(1, email); // Dépose l'email.
-            ps.setString(2, pseudo); // Dépose le pseudo.
-            ps.setString(3, hash); // Dépose le hash du mot de passe.
-            ps.executeUpdate(); // Exécute l'insertion.
-            try (ResultSet rs = ps.getGeneratedKeys()) { // Récupère l'identifiant généré.
-                if (rs.next()) { // Vérifie la présence de la clé.
-                    return rs.getLong(1); // Retourne l'identifiant.
-                }
+        return createUserHashed(email, pseudo, SecurityUtil.hashPwd(rawPwd)); // Hache le mot de passe hors du verrou d'écriture.
+    }
+
+    public long createUserHashed(String email, String pseudo, String hash) { // Crée un utilisateur dont le mot de passe est déjà haché.
+        try { // Capture les erreurs pour détecter les doublons.
+            return pool.write(connection -> { // Écrit sur l'écrivain.
+                PreparedStatement ps = connection.prepareReturningKeys(SQL_INSERT_USER); // Réutilise la requête compilée.
+                ps.setString(1, email); // Dépose l'email.
+                ps.setString(2, pseudo); // Dépose le pseudo.
+                ps.setString(3, hash); // Dépose le hash du mot de passe.
+                ps.executeUpdate(); // Exécute l'insertion.
+                return generatedId(connection, ps, "createUser"); // Récupère l'identifiant.
+            });
+        } catch (RuntimeException e) { // Capture les erreurs SQL enveloppées.
+            Throwable cause = e.getCause() != null ? e.getCause() : e; // Remonte à l'erreur SQL d'origine.
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase().contains("unique")) { // Détecte un doublon.
+                throw new RuntimeException("Cet email est déjà utilisé."); // Lève une exception lisible.
             }
-            try (Statement st = connection.createStatement(); ResultSet rs = st.executeQuery("SELECT last_insert_rowid()")) { // Repli si le driver ne supporte pas getGeneratedKeys.
-                if (rs.next()) { // Vérifie l'existence d'une ligne.
-                    return rs.getLong(1); // Retourne l'identifiant récupéré.
-                }
+            throw e; // Propage l'erreur générique.
+        }
+    }
+
+    public boolean updatePasswordHash(long userId, String previousHash, String newHash) { // Remplace le hash si personne ne l'a changé entre-temps.
+        return pool.write(connection -> { // Écrit sur l'écrivain.
+            PreparedStatement ps = connection.prepare(SQL_UPDATE_HASH); // Réutilise la requête compilée.
+            ps.setString(1, newHash); // Nouveau hash.
+            ps.setLong(2, userId); // Utilisateur.
+            ps.setString(3, previousHash); // Hash vérifié au login.
+            return ps.executeUpdate() == 1; // Vrai si le hash a été remplacé.
+        });
+    }
+
+    public String issueLoginToken(long userId, int days) { // Émet un jeton valable days jours ; seule son empreinte est stockée.
+        byte[] raw = new byte[32]; // 256 bits d'aléa.
+        TOKENS.nextBytes(raw); // Tire le jeton.
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw); // Forme texte du jeton.
+        pool.transaction(connection -> { // Écrit sur l'écrivain.
+            PreparedStatement purge = connection.prepare(SQL_TOKEN_PURGE); // Réutilise la requête compilée.
+            purge.setLong(1, userId); // Paramètre l'utilisateur.
+            purge.executeUpdate(); // Retire les jetons expirés.
+            PreparedStatement ps = connection.prepare(SQL_TOKEN_INSERT); // Réutilise la requête compilée.
+            ps.setString(1, fingerprint(token)); // Empreinte.
+            ps.setLong(2, userId); // Utilisateur.
+            ps.setString(3, "+" + days + " days"); // Durée de validité.
+            ps.executeUpdate(); // Enregistre le jeton.
+            return null; // Aucun résultat.
+        });
+        return token; // Retourne le jeton à conserver côté client.
+    }
+
+    public Long findUserByToken(String token) { // Valide un jeton en une recherche indexée ; null s'il est inconnu ou expiré.
+        return pool.read(connection -> { // Lit sur un lecteur.
+            PreparedStatement ps = connection.prepare(SQL_TOKEN_USER); // Réutilise la requête compilée.
+            ps.setString(1, fingerprint(token)); // Empreinte.
+            try (ResultSet rs = ps.executeQuery()) { // Recherche sur la clé primaire.
+                return rs.next() ? rs.getLong(1) : null; // Retourne l'utilisateur ou null.
             }
-            throw new RuntimeException("createUser: no id"); // Signale l'impossibilité de récupérer l'identifiant.
-        } catch (SQLException e) { // Capture les erreurs SQL.
-            if (e.getMessage() != null && e.getMessage().toLowerCase().contains("unique")) { // Détecte un doublon.
-                throw new RuntimeException("Cet email est déjà utilisé."); // Lève une exception lisible.
+        });
+    }
+
+    public void revokeLoginToken(String token) { // Supprime un jeton (déconnexion).
+        pool.write(connection -> { // Écrit sur l'écrivain.
+            PreparedStatement ps = connection.prepare(SQL_TOKEN_DELETE); // Réutilise la requête compilée.
+            ps.setString(1, fingerprint(token)); // Empreinte.
+            return ps.executeUpdate(); // Supprime le jeton.
+        });
+    }
+
+    private static String fingerprint(String token) { // Empreinte SHA-256 d'un jeton.
+        try { // SHA-256 est toujours disponible.
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8))); // Hache et encode.
+        } catch (NoSuchAlgorithmException e) { // Garde-fou.
+            throw new IllegalStateException(e); // Signale l'environnement invalide.
+        }
+    }
+
+    public record ImportProgress(long read, long inserted, long skipped, long rejected, long elapsedMillis, double usersPerSecond) { } // Avancement d'un import de comptes.
+
+    public ImportProgress importUsers(Reader csv, int cost, Consumer<ImportProgress> progress) { // Importe des comptes depuis un CSV email,pseudo,mot_de_passe.
+        return new UserImporter(pool, cost, progress).run(csv); // Hachage parallèle, insertion par lots de 5000.
+    }
+
+    private static long generatedId(PooledConnection connection, PreparedStatement ps, String label) throws SQLException { // Retourne la clé de la dernière insertion.
+        try (ResultSet rs = ps.getGeneratedKeys()) { // Récupère l'identifiant généré.
+            if (rs.next()) { // Vérifie la présence de la clé.
+                return rs.getLong(1); // Retourne l'identifiant.
+            }
+        }
+        try (Statement st = connection.raw().createStatement(); ResultSet rs = st.executeQuery("SELECT last_insert_rowid()")) { // Repli si le driver ne supporte pas getGeneratedKeys.
+            if (rs.next()) { // Vérifie l'existence d'une ligne.
+                return rs.getLong(1); // Retourne l'identifiant récupéré.
             }
-            throw new RuntimeException(e); // Propage l'erreur générique.
         }
+        throw new RuntimeException(label + ": no id"); // Signale l'impossibilité de récupérer l'identifiant.
     }
 
-    public void applyDailyCredit(long userId) { // Crédite le bonus quotidien si nécessaire.
+    public int applyDailyCredit(long userId) { // Crédite le bonus quotidien si nécessaire et retourne le solde.
         try { // Enveloppe l'opération dans une transaction.
-            boolean previous = connection.getAutoCommit(); // Sauvegarde l'état auto-commit.
-            connection.setAutoCommit(false); // Désactive l'auto-commit.
-            try (PreparedStatement ps1 = connection.prepareStatement("""
-                    WITH w AS (SELECT id_utilisateur, solde_actuel, last_daily_credit FROM wallet WHERE id_utilisateur = ?)
-                    INSERT INTO txn (id_utilisateur, id_session, type, montant, solde_avant, solde_apres, note)
-                    SELECT ?, NULL, 'DAILY_CREDIT', 1000, w.solde_actuel, w.solde_actuel + 1000, 'Crédit quotidien'
-                    FROM w WHERE date(w.last_daily_credit) < date('now');
-                """
-            );
-                 PreparedStatement ps2 = connection.prepareStatement("""
-                    UPDATE wallet SET last_daily_credit=date('now'), updated_at=datetime('now')
-                    WHERE id_utilisateur=? AND date(last_daily_credit) < date('now');
-                """)) { // Prépare les deux requêtes.
-                ps1.setLong(1, userId); // Paramètre la première requête (sous-requête).
-                ps1.setLong(2, userId); // Paramètre l'insertion.
-                ps1.executeUpdate(); // Exécute la tentative de crédit.
-                ps2.setLong(1, userId); // Paramètre la mise à jour du portefeuille.
-                ps2.executeUpdate(); // Exécute la mise à jour.
-                connection.commit(); // Valide la transaction.
-            } catch (Exception ex) { // Capture toute erreur durant les requêtes.
-                connection.rollback(); // Annule la transaction.
-                throw ex; // Re-propage l'exception.
-            } finally { // Bloc de sortie.
-                connection.setAutoCommit(previous); // Restaure l'état initial.
-            }
-        } catch (SQLException e) { // Capture les erreurs SQL.
+            return pool.transaction(connection -> { // Transaction sur l'écrivain.
+                PreparedStatement ps = connection.prepare(SQL_DAILY_WALLET); // Réutilise la requête de crédit.
+                ps.setInt(1, DAILY_CREDIT); // Paramètre le montant.
+                ps.setLong(2, userId); // Paramètre l'utilisateur.
+                try (ResultSet rs = ps.executeQuery()) { // Une ligne n'est retournée que si le crédit était dû.
+                    if (!rs.next()) { // Crédit déjà versé aujourd'hui.
+                        return readBalance(connection, userId); // Retourne le solde inchangé.
+                    }
+                    int after = rs.getInt(1); // Solde après crédit.
+                    insertTxn(connection, userId, null, "DAILY_CREDIT", DAILY_CREDIT, after - DAILY_CREDIT, after, "Crédit quotidien"); // Trace le crédit.
+                    return after; // Retourne le nouveau solde.
+                }
+            });
+        } catch (RuntimeException e) { // Capture les erreurs SQL enveloppées.
             throw new RuntimeException("daily", e); // Propage l'erreur.
         }
     }
 
     public int getBalance(long userId) { // Récupère le solde actuel.
-        try (PreparedStatement ps = connection.prepareStatement(
-                "SELECT solde_actuel FROM wallet WHERE id_utilisateur=?")) { // Prépare la requête.
-            ps.setLong(1, userId); // Paramètre l'identifiant.
+        return pool.read(connection -> readBalance(connection, userId)); // Lit sur un lecteur, sans attendre l'écrivain.
+    }
+
+    private static int readBalance(PooledConnection connection, long userId) throws SQLException { // Lit le solde sur une connexion donnée.
+        PreparedStatement ps = connection.prepare(SQL_BALANCE); // Réutilise la requête compilée.
+        ps.setLong(1, userId); // Paramètre l'identifiant.
+        try (ResultSet rs = ps.executeQuery()) { // Exécute la requête.
+            return rs.next() ? rs.getInt(1) : 0; // Retourne le solde ou 0 si absent.
+        }
+    }
+
+    public record HistoryCursor(String at, long id) { } // Position de pagination : date et identifiant de la dernière ligne lue.
+
+    public record LedgerEntry(long id, Long sessionId, String type, int amount, int before, int after, String note, String createdAt) { } // Ligne du grand livre.
+
+    public record RoundEntry(long sessionId, String startedAt, String endedAt, int wagered, int won, String result) { } // Manche jouée.
+
+    public HistoryCursor ledgerPage(long userId, HistoryCursor after, int limit, Consumer<LedgerEntry> sink) { // Diffuse une page du grand livre, du plus récent au plus ancien ; retourne le curseur suivant ou null en fin d'historique.
+        return pool.read(connection -> { // Lit sur un lecteur.
+            PreparedStatement ps = page(connection, SQL_LEDGER_FIRST, SQL_LEDGER_NEXT, userId, after, limit); // Prépare la page.
+            HistoryCursor last = null; // Dernière ligne lue.
+            int rows = 0; // Lignes lues.
+            try (ResultSet rs = ps.executeQuery()) { // Parcourt l'index sans matérialiser la page.
+                while (rs.next()) { // Ligne suivante.
+                    long id = rs.getLong(1); // Identifiant de la ligne.
+                    long sessionId = rs.getLong(2); // Session éventuelle ; wasNull porte sur cette colonne, lue en dernier.
+                    LedgerEntry entry = new LedgerEntry(id, rs.wasNull() ? null : sessionId, rs.getString(3), rs.getInt(4),
+                            rs.getInt(5), rs.getInt(6), rs.getString(7), rs.getString(8)); // Construit la ligne.
+                    sink.accept(entry); // Transmet au consommateur.
+                    last = new HistoryCursor(entry.createdAt(), entry.id()); // Avance le curseur.
+                    rows++; // Compte la ligne.
+                }
+            }
+            return rows < limit ? null : last; // Page incomplète : fin de l'historique.
+        });
+    }
+
+    public HistoryCursor roundPage(long userId, HistoryCursor after, int limit, Consumer<RoundEntry> sink) { // Diffuse une page des manches, de la plus récente à la plus ancienne.
+        return pool.read(connection -> { // Lit sur un lecteur.
+            PreparedStatement ps = page(connection, SQL_ROUNDS_FIRST, SQL_ROUNDS_NEXT, userId, after, limit); // Prépare la page.
+            HistoryCursor last = null; // Dernière ligne lue.
+            int rows = 0; // Lignes lues.
+            try (ResultSet rs = ps.executeQuery()) { // Parcourt l'index sans matérialiser la page.
+                while (rs.next()) { // Ligne suivante.
+                    RoundEntry entry = new RoundEntry(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4),
+                            rs.getInt(5), rs.getString(6)); // Construit la manche.
+                    sink.accept(entry); // Transmet au consommateur.
+                    last = new HistoryCursor(entry.startedAt(), entry.sessionId()); // Avance le curseur.
+                    rows++; // Compte la ligne.
+                }
+            }
+            return rows < limit ? null : last; // Page incomplète : fin de l'historique.
+        });
+    }
+
+    private static PreparedStatement page(PooledConnection connection, String first, String next, long userId,
+                                          HistoryCursor after, int limit) throws SQLException { // Paramètre une requête de page.
+        if (limit <= 0) { // Valide la taille de page.
+            throw new IllegalArgumentException("limit > 0"); // Refuse une page vide.
+        }
+        PreparedStatement ps = connection.prepare(after == null ? first : next); // Choisit la requête selon la position.
+        ps.setLong(1, userId); // Paramètre l'utilisateur.
+        if (after == null) { // Première page.
+            ps.setInt(2, limit); // Paramètre la taille.
+        } else { // Page suivante.
+            ps.setString(2, after.at()); // Date de la dernière ligne lue.
+            ps.setLong(3, after.id()); // Identifiant de la dernière ligne lue.
+            ps.setInt(4, limit); // Paramètre la taille.
+        }
+        return ps; // Retourne la requête prête.
+    }
+
+    public long startSession(long userId) { // Crée une nouvelle session de jeu sans graine.
+        return startSession(userId, null); // Délègue sans enregistrer de graine.
+    }
+
+    public long startSession(long userId, String seedRng) { // Crée une nouvelle session de jeu avec sa graine de sabot.
+        try { // Capture les erreurs pour les annoter.
+            return pool.write(connection -> insertSession(connection, userId, seedRng)); // Écrit sur l'écrivain.
+        } catch (RuntimeException e) { // Capture les erreurs SQL enveloppées.
+            throw new RuntimeException("startSession", e); // Propage l'erreur annotée.
+        }
+    }
+
+    private static long insertSession(PooledConnection connection, long userId, String seedRng) throws SQLException { // Insère une session et retourne son identifiant.
+        PreparedStatement ps = connection.prepareReturningKeys(SQL_INSERT_SESSION); // Réutilise la requête compilée.
+        ps.setLong(1, userId); // Paramètre l'utilisateur.
+        ps.setString(2, seedRng); // Paramètre la graine (ou NULL).
+        ps.executeUpdate(); // Exécute l'insertion.
+        return generatedId(connection, ps, "startSession"); // Récupère l'identifiant.
+    }
+
+    public record OpenedRound(long sessionId, int balance) { } // Session ouverte et solde après la mise.
+
+    public CompletableFuture<OpenedRound> openRoundAsync(long userId, String seedRng, int amount) { // Ouvre la session et débite la mise ensemble ; une mise refusée ne laisse aucune session.
+        if (amount <= 0) { // Valide le montant.
+            return CompletableFuture.failedFuture(new IllegalArgumentException("amount > 0")); // Refuse les montants invalides.
+        }
+        return submitWrite(connection -> { // Une seule écriture (transaction, ou point de sauvegarde du lot).
+            long sessionId = insertSession(connection, userId, seedRng); // Session avec sa graine.
+            return new OpenedRound(sessionId, bet(connection, userId, sessionId, amount)); // Débit atomique, annulé avec la session en cas de refus.
+        });
+    }
+
+    public String findSessionSeed(long sessionId) { // Relit la graine enregistrée pour rejouer une manche.
+        return pool.read(connection -> { // Lit sur un lecteur.
+            PreparedStatement ps = connection.prepare(SQL_SESSION_SEED); // Réutilise la requête compilée.
+            ps.setLong(1, sessionId); // Paramètre la session.
             try (ResultSet rs = ps.executeQuery()) { // Exécute la requête.
-                return rs.next() ? rs.getInt(1) : 0; // Retourne le solde ou 0 si absent.
+                return rs.next() ? rs.getString(1) : null; // Retourne la graine ou null si absente.
+            }
+        });
+    }
+
+    private static int adjustBalance(PooledConnection connection, long userId, int delta) throws SQLException { // Ajuste le solde en une instruction et retourne le nouveau solde.
+        PreparedStatement ps = connection.prepare(SQL_ADJUST_WALLET); // Réutilise la requête compilée.
+        ps.setInt(1, delta); // Paramètre la variation.
+        ps.setLong(2, userId); // Paramètre l'utilisateur.
+        ps.setInt(3, delta); // Paramètre la garde de solde.
+        try (ResultSet rs = ps.executeQuery()) { // Exécute la mise à jour avec RETURNING.
+            if (rs.next()) { // Le portefeuille a été mis à jour.
+                return rs.getInt(1); // Retourne le nouveau solde.
+            }
+        }
+        throw new InsufficientFundsException(readBalance(connection, userId)); // Aucune ligne : fonds insuffisants, la transaction est annulée.
+    }
+
+    private static int bet(PooledConnection connection, long userId, long sessionId, int amount) throws SQLException { // Débite une mise et trace l'opération.
+        int after = adjustBalance(connection, userId, -amount); // Débit atomique avec contrôle des fonds.
+        insertTxn(connection, userId, sessionId, "BET", -amount, after + amount, after, "Mise"); // Insère la transaction.
+        PreparedStatement ps = connection.prepare(SQL_SESSION_BET); // Réutilise la requête de cumul.
+        ps.setInt(1, amount); // Paramètre la mise cumulée.
+        ps.setLong(2, sessionId); // Paramètre la session.
+        ps.executeUpdate(); // Met à jour la session.
+        return after; // Retourne le nouveau solde.
+    }
+
+    private record Settled(int balance, Leaderboard.Entry standing) { } // Résultat d'un règlement : solde et position au classement.
+
+    private static Settled payout(PooledConnection connection, long userId, long sessionId, int delta, RoundResult result) throws SQLException { // Crédite un règlement, clôt la session et met les statistiques à jour.
+        int after = adjustBalance(connection, userId, delta); // Crédit atomique.
+        insertTxn(connection, userId, sessionId, "PAYOUT", delta, after - delta, after, "Règlement manche"); // Insère le règlement.
+        closeSession(connection, sessionId, delta, result); // Met à jour la session.
+        HouseAnalytics.recordSettlement(connection, sessionId); // Cumuls horaires et journaliers de la banque.
+        PreparedStatement ps = connection.prepare(SQL_STATS_SETTLE); // Réutilise la requête d'agrégat.
+        ps.setString(1, result.name()); // Indicateur de victoire.
+        ps.setString(2, result.name()); // Indicateur de défaite.
+        ps.setString(3, result.name()); // Indicateur d'égalité.
+        ps.setLong(4, sessionId); // Session réglée.
+        try (ResultSet rs = ps.executeQuery()) { // Exécute l'upsert avec RETURNING.
+            Leaderboard.Entry standing = rs.next() ? new Leaderboard.Entry(userId, rs.getString(3), rs.getLong(2), rs.getInt(1)) : null; // Nouvelle position.
+            return new Settled(after, standing); // Retourne le solde et la position.
+        }
+    }
+
+    private int publish(Settled settled) { // Reporte au classement un règlement validé ; retourne le solde.
+        Leaderboard board = leaderboard; // Classement éventuellement chargé.
+        if (board != null && settled.standing() != null) { // Sinon le prochain chargement lira la base.
+            board.update(settled.standing()); // Mise à jour en O(log n).
+        }
+        return settled.balance(); // Retourne le nouveau solde.
+    }
+
+    public Leaderboard leaderboard() { // Classement en mémoire ; le premier appel le charge depuis user_stats.
+        Leaderboard board = leaderboard; // Lecture sans verrou du cas courant.
+        if (board != null) { // Déjà chargé.
+            return board; // Retourne le classement.
+        }
+        synchronized (this) { // Un seul chargement.
+            if (leaderboard == null) { // Vérifie à nouveau sous verrou.
+                Leaderboard loaded = new Leaderboard(); // Classement vide.
+                leaderboard = loaded; // Publié avant le chargement : les règlements concurrents ne sont pas perdus.
+                pool.read(connection -> { // Lit l'agrégat sur un lecteur.
+                    try (ResultSet rs = connection.prepare(SQL_LEADERBOARD).executeQuery()) { // Parcourt les joueurs classés.
+                        while (rs.next()) { // Joueur suivant.
+                            loaded.update(new Leaderboard.Entry(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getInt(4))); // Ignoré si un règlement plus récent est déjà arrivé.
+                        }
+                    }
+                    return null; // Aucun résultat.
+                });
             }
-        } catch (SQLException e) { // Capture les erreurs SQL.
-            throw new RuntimeException(e); // Propage l'erreur.
+            return leaderboard; // Retourne le classement.
         }
     }
 
-    public long startSession(long userId) { // Crée une nouvelle session de jeu.
-        try (PreparedStatement ps = connection.prepareStatement(
-                "INSERT INTO session_jeu(id_utilisateur) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) { // Prépare l'insertion.
+    public boolean isAdmin(long userId) { // Indique si l'utilisateur a le rôle admin.
+        return pool.read(connection -> { // Lit sur un lecteur.
+            PreparedStatement ps = connection.prepare(SQL_ROLE); // Réutilise la requête compilée.
             ps.setLong(1, userId); // Paramètre l'utilisateur.
-            ps.executeUpdate(); // Exécute l'insertion.
-            try (ResultSet rs = ps.getGeneratedKeys()) { // Récupère l'identifiant de session.
-                if (rs.next()) { // Vérifie la présence d'une clé.
-                    return rs.getLong(1); // Retourne l'identifiant.
-                }
+            try (ResultSet rs = ps.executeQuery()) { // Exécute la requête.
+                return rs.next() && "admin".equals(rs.getString(1)); // Compare le rôle.
             }
-            try (Statement st = connection.createStatement(); ResultSet rs = st.executeQuery("SELECT last_insert_rowid()")) { // Repli.
-                if (rs.next()) { // Vérifie la présence d'une ligne.
-                    return rs.getLong(1); // Retourne l'identifiant.
+        });
+    }
+
+    public HouseAnalytics analytics() { // Cumuls de la banque ; l'appelant vérifie isAdmin.
+        return analytics; // Retourne le moteur d'analyse.
+    }
+
+    public LedgerCompactor ledgerCompactor() { // Compactage du grand livre (ledgerPage ne voit que les lignes vivantes).
+        return compactor; // Retourne le compacteur.
+    }
+
+    public record UserStats(int rounds, int wins, int losses, int pushes, long wagered, long net, long biggestWin) { } // Statistiques d'un joueur.
+
+    public UserStats findUserStats(long userId) { // Lit les statistiques d'un joueur (une ligne indexée).
+        return pool.read(connection -> { // Lit sur un lecteur.
+            PreparedStatement ps = connection.prepare(SQL_STATS); // Réutilise la requête compilée.
+            ps.setLong(1, userId); // Paramètre l'utilisateur.
+            try (ResultSet rs = ps.executeQuery()) { // Exécute la requête.
+                if (!rs.next()) { // Aucune manche réglée.
+                    return new UserStats(0, 0, 0, 0, 0, 0, 0); // Statistiques vides.
                 }
+                return new UserStats(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getLong(5), rs.getLong(6), rs.getLong(7)); // Construit le record.
             }
-            throw new RuntimeException("startSession: no id"); // Signale l'échec.
-        } catch (SQLException e) { // Capture les erreurs SQL.
-            throw new RuntimeException("startSession", e); // Propage l'erreur annotée.
+        });
+    }
+
+    private static void insertTxn(PooledConnection connection, long userId, Long sessionId, String type,
+                                  int amount, int before, int after, String note) throws SQLException { // Écrit une ligne du grand livre.
+        PreparedStatement ps = connection.prepare(SQL_INSERT_TXN); // Réutilise la requête compilée.
+        ps.setLong(1, userId); // Paramètre l'identifiant utilisateur.
+        if (sessionId == null) { // Opération hors session.
+            ps.setNull(2, Types.INTEGER); // Paramètre une session absente.
+        } else { // Opération rattachée à une session.
+            ps.setLong(2, sessionId); // Paramètre la session.
         }
+        ps.setString(3, type); // Indique le type de transaction.
+        ps.setInt(4, amount); // Enregistre le montant signé.
+        ps.setInt(5, before); // Solde avant.
+        ps.setInt(6, after); // Solde après.
+        ps.setString(7, note); // Ajoute une note.
+        ps.executeUpdate(); // Insère la ligne (le portefeuille est déjà à jour).
+    }
+
+    private static void closeSession(PooledConnection connection, long sessionId, int delta, RoundResult result) throws SQLException { // Met à jour la session réglée.
+        PreparedStatement ps = connection.prepare(SQL_SESSION_SETTLE); // Réutilise la requête compilée.
+        ps.setInt(1, delta); // Paramètre le gain cumulé.
+        ps.setString(2, result.name()); // Paramètre le résultat symbolique.
+        ps.setLong(3, sessionId); // Paramètre la session.
+        ps.executeUpdate(); // Met à jour la session.
     }
 
-    public void placeBet(long userId, long sessionId, int amount) { // Débite la mise du joueur.
+    public int placeBet(long userId, long sessionId, int amount) { // Débite la mise du joueur et retourne le nouveau solde.
         if (amount <= 0) { // Valide le montant.
             throw new IllegalArgumentException("amount > 0"); // Refuse les montants invalides.
         }
         try { // Ouvre une transaction.
-            int before = getBalance(userId); // Récupère le solde avant mise.
-            int after = before - amount; // Calcule le solde après débit.
-            if (after < 0) { // Vérifie que la mise est possible.
-                throw new RuntimeException("Solde insuffisant (" + before + ")"); // Signale le solde insuffisant.
-            }
-            boolean previous = connection.getAutoCommit(); // Sauvegarde l'état auto-commit.
-            connection.setAutoCommit(false); // Désactive l'auto-commit.
-            try (PreparedStatement ps = connection.prepareStatement(
-                    "INSERT INTO txn(id_utilisateur,id_session,type,montant,solde_avant,solde_apres,note) VALUES (?,?,?,?,?,?,?)");
-                 PreparedStatement ps2 = connection.prepareStatement(
-                         "UPDATE session_jeu SET mise_totale = mise_totale + ? WHERE id_session=?")) { // Prépare les requêtes.
-                ps.setLong(1, userId); // Paramètre l'identifiant utilisateur.
-                ps.setLong(2, sessionId); // Paramètre la session.
-                ps.setString(3, "BET"); // Indique le type de transaction.
-                ps.setInt(4, -amount); // Enregistre le montant débité.
-                ps.setInt(5, before); // Solde avant.
-                ps.setInt(6, after); // Solde après.
-                ps.setString(7, "Mise"); // Ajoute une note.
-                ps.executeUpdate(); // Insère la transaction.
-                ps2.setInt(1, amount); // Paramètre la mise cumulée.
-                ps2.setLong(2, sessionId); // Paramètre la session.
-                ps2.executeUpdate(); // Met à jour la session.
-                connection.commit(); // Valide l'opération.
-            } catch (Exception ex) { // Capture toute erreur pendant les requêtes.
-                connection.rollback(); // Annule la transaction.
-                throw ex; // Re-propage l'exception.
-            } finally { // Bloc de sortie.
-                connection.setAutoCommit(previous); // Restaure l'auto-commit.
-            }
-        } catch (SQLException e) { // Capture les erreurs SQL.
+            return pool.transaction(connection -> bet(connection, userId, sessionId, amount)); // Contrôle des fonds et débit dans la même instruction.
+        } catch (InsufficientFundsException e) { // Refus métier.
+            throw e; // Propage tel quel pour l'appelant.
+        } catch (RuntimeException e) { // Capture les erreurs SQL enveloppées.
             throw new RuntimeException("placeBet", e); // Propage l'erreur annotée.
         }
     }
 
-    public void settle(long userId, long sessionId, int delta, String result) { // Enregistre le résultat financier d'une manche.
+    public record Settlement(long userId, long sessionId, int delta, RoundResult result) { } // Règlement d'une place pour l'écriture groupée.
+
+    public void settleAll(List<Settlement> settlements) { // Enregistre les règlements de toutes les places en une seule transaction.
+        if (settlements.isEmpty()) { // Rien à écrire.
+            return; // Évite une transaction vide.
+        }
         try { // Ouvre une transaction.
-            int before = getBalance(userId); // Récupère le solde avant règlement.
-            int after = before + delta; // Calcule le solde après règlement.
-            boolean previous = connection.getAutoCommit(); // Sauvegarde l'état auto-commit.
-            connection.setAutoCommit(false); // Désactive l'auto-commit.
-            try (PreparedStatement ps = connection.prepareStatement(
-                    "INSERT INTO txn(id_utilisateur,id_session,type,montant,solde_avant,solde_apres,note) VALUES (?,?,?,?,?,?,?)");
-                 PreparedStatement ps2 = connection.prepareStatement(
-                         "UPDATE session_jeu SET gain_total=gain_total + ?, resultat=?, date_fin=datetime('now') WHERE id_session=?")) { // Prépare les requêtes.
-                ps.setLong(1, userId); // Paramètre l'utilisateur.
-                ps.setLong(2, sessionId); // Paramètre la session.
-                ps.setString(3, "PAYOUT"); // Spécifie le type de transaction.
-                ps.setInt(4, delta); // Enregistre le montant crédité.
-                ps.setInt(5, before); // Solde avant règlement.
-                ps.setInt(6, after); // Solde après règlement.
-                ps.setString(7, "Règlement manche"); // Ajoute la note descriptive.
-                ps.executeUpdate(); // Exécute l'insertion transactionnelle.
-                ps2.setInt(1, delta); // Paramètre le gain cumulé.
-                ps2.setString(2, result); // Paramètre le résultat symbolique.
-                ps2.setLong(3, sessionId); // Paramètre la session.
-                ps2.executeUpdate(); // Met à jour la session.
-                connection.commit(); // Valide la transaction.
-            } catch (Exception ex) { // Capture toute erreur.
-                connection.rollback(); // Annule les écritures.
-                throw ex; // Re-propage l'exception.
-            } finally { // Bloc de sortie.
-                connection.setAutoCommit(previous); // Restaure l'auto-commit.
-            }
-        } catch (SQLException e) { // Capture les erreurs SQL.
+            List<Settled> settled = pool.transaction(connection -> { // Transaction sur l'écrivain.
+                List<Settled> done = new ArrayList<>(settlements.size()); // Résultats par place.
+                for (Settlement s : settlements) { // Parcourt chaque place.
+                    done.add(payout(connection, s.userId(), s.sessionId(), s.delta(), s.result())); // Crédit atomique et clôture de la session.
+                }
+                return done; // Un seul commit pour toute la table.
+            });
+            settled.forEach(this::publish); // Met le classement à jour après le commit.
+        } catch (RuntimeException e) { // Capture les erreurs SQL enveloppées.
+            throw new RuntimeException("settleAll", e); // Propage l'erreur annotée.
+        }
+    }
+
+    public int settle(long userId, long sessionId, int delta, RoundResult result) { // Enregistre le résultat financier d'une manche et retourne le nouveau solde.
+        try { // Ouvre une transaction.
+            return publish(pool.transaction(connection -> payout(connection, userId, sessionId, delta, result))); // Crédit atomique, puis classement après le commit.
+        } catch (RuntimeException e) { // Capture les erreurs SQL enveloppées.
             throw new RuntimeException("settle", e); // Propage l'erreur annotée.
         }
     }
@@ -0,0 +1,138 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import java.sql.Connection; // Importe Connection pour les points de sauvegarde.
+import java.sql.SQLException; // Importe SQLException pour les erreurs JDBC.
+import java.sql.Savepoint; // Importe Savepoint pour isoler chaque écriture du lot.
+import java.sql.Statement; // Importe Statement pour le PRAGMA de durabilité.
+import java.util.ArrayList; // Importe ArrayList pour constituer les lots.
+import java.util.List; // Importe List comme interface générique.
+import java.util.concurrent.BlockingQueue; // Importe l'interface de file bloquante.
+import java.util.concurrent.CompletableFuture; // Importe CompletableFuture pour notifier les appelants.
+import java.util.concurrent.LinkedBlockingQueue; // Importe la file non bornée des écritures.
+import java.util.concurrent.TimeUnit; // Importe TimeUnit pour l'attente bornée.
+
+public final class GroupCommitWriter implements AutoCloseable { // Écrivain unique qui regroupe les écritures en lots validés ensemble.
+    private final ConnectionPool pool; // Pool fournissant l'écrivain.
+    private final int maxBatch; // Nombre maximal d'écritures par commit.
+    private final long maxDelayNanos; // Attente maximale avant de valider un lot incomplet.
+    private final BlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>(); // Écritures en attente.
+    private final Thread thread; // Thread unique d'écriture.
+    private final Object admission = new Object(); // Sérialise la mise en file et l'arrêt.
+    private volatile boolean running = true; // Indique si l'écrivain accepte des écritures.
+
+    private record Pending<T>(SqlWork<T> work, CompletableFuture<T> future) { } // Écriture en attente et sa promesse.
+
+    public GroupCommitWriter(ConnectionPool pool, int maxBatch, long maxDelayMillis) { // Démarre le thread d'écriture.
+        if (maxBatch < 1 || maxDelayMillis < 0) { // Valide les bornes.
+            throw new IllegalArgumentException("maxBatch >= 1 et maxDelayMillis >= 0"); // Refuse une configuration invalide.
+        }
+        this.pool = pool; // Mémorise le pool.
+        this.maxBatch = maxBatch; // Mémorise la taille de lot.
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis); // Convertit le délai.
+        pool.write(connection -> { // Un commit groupé doit être réellement sur disque quand les promesses aboutissent.
+            try (Statement st = connection.raw().createStatement()) { // Statement ponctuel.
+                st.execute("PRAGMA synchronous = FULL"); // fsync du WAL à chaque commit ; le regroupement en amortit le coût.
+            }
+            return null; // Rien à retourner.
+        });
+        this.thread = new Thread(this::loop, "ledger-writer"); // Crée le thread d'écriture.
+        thread.setDaemon(true); // N'empêche pas l'arrêt de la JVM.
+        thread.start(); // Démarre la boucle.
+    }
+
+    public <T> CompletableFuture<T> submit(SqlWork<T> work) { // Ajoute une écriture ; la promesse aboutit quand son lot est durable.
+        CompletableFuture<T> future = new CompletableFuture<>(); // Promesse retournée à l'appelant.
+        synchronized (admission) { // Aucune mise en file après l'arrêt : le dernier vidage la verrait manquer.
+            if (!running) { // L'écrivain est arrêté.
+                future.completeExceptionally(new IllegalStateException("GroupCommitWriter fermé")); // Refuse l'écriture.
+                return future; // Retourne la promesse échouée.
+            }
+            queue.add(new Pending<>(work, future)); // Met en file.
+        }
+        return future; // Retourne la promesse.
+    }
+
+    private void loop() { // Boucle principale du thread d'écriture.
+        List<Pending<?>> batch = new ArrayList<>(maxBatch); // Lot réutilisé d'un tour à l'autre.
+        while (running || !queue.isEmpty()) { // Continue jusqu'à l'arrêt et la file vidée.
+            try { // Attend la première écriture.
+                Pending<?> first = queue.poll(100, TimeUnit.MILLISECONDS); // Réveil périodique pour observer l'arrêt.
+                if (first == null) { // Rien à écrire.
+                    continue; // Reboucle.
+                }
+                batch.add(first); // Ouvre le lot.
+                long deadline = System.nanoTime() + maxDelayNanos; // Date limite de constitution du lot.
+                while (batch.size() < maxBatch) { // Complète le lot dans la limite de taille.
+                    long wait = deadline - System.nanoTime(); // Temps restant.
+                    Pending<?> next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll(); // Attend au plus jusqu'à la date limite.
+                    if (next == null) { // Délai écoulé.
+                        break; // Valide le lot tel quel.
+                    }
+                    batch.add(next); // Ajoute l'écriture.
+                }
+                commit(batch); // Valide le lot en une transaction.
+            } catch (InterruptedException e) { // Interruption du thread.
+                stop(); // Passe en arrêt ; le reste de la file sera vidé.
+                for (Pending<?> pending : batch) { // Lot en constitution, jamais validé.
+                    pending.future().completeExceptionally(e); // Notifie l'appelant au lieu de le laisser attendre.
+                }
+            } finally { // Prépare le tour suivant.
+                batch.clear(); // Vide le lot.
+            }
+        }
+    }
+
+    private void commit(List<Pending<?>> batch) { // Exécute un lot dans une seule transaction (un seul fsync).
+        Object[] results = new Object[batch.size()]; // Résultats en attente de durabilité.
+        Throwable[] failures = new Throwable[batch.size()]; // Échecs individuels.
+        try { // Transaction du lot.
+            pool.transaction(connection -> { // Prend l'écrivain.
+                Connection raw = connection.raw(); // Connexion JDBC pour les points de sauvegarde.
+                for (int i = 0; i < batch.size(); i++) { // Exécute chaque écriture.
+                    Savepoint savepoint = raw.setSavepoint(); // Isole l'écriture des autres.
+                    try { // Exécute l'écriture.
+                        results[i] = batch.get(i).work().run(connection); // Mémorise le résultat.
+                        raw.releaseSavepoint(savepoint); // Conserve l'écriture.
+                    } catch (SQLException | RuntimeException ex) { // Échec de cette seule écriture.
+                        raw.rollback(savepoint); // Annule uniquement cette écriture.
+                        failures[i] = ex; // Mémorise l'échec.
+                    }
+                }
+                return null; // Aucun résultat global.
+            });
+        } catch (RuntimeException ex) { // Le commit lui-même a échoué.
+            for (Pending<?> pending : batch) { // Toutes les écritures du lot sont perdues.
+                pending.future().completeExceptionally(ex); // Notifie l'échec.
+            }
+            return; // Fin du lot.
+        }
+        for (int i = 0; i < batch.size(); i++) { // Lot durable : notifie chaque appelant.
+            complete(batch.get(i), results[i], failures[i]); // Complète la promesse.
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void complete(Pending<T> pending, Object result, Throwable failure) { // Complète une promesse typée.
+        if (failure != null) { // Écriture individuelle en échec.
+            pending.future().completeExceptionally(failure); // Transmet l'erreur.
+        } else { // Écriture réussie et durable.
+            pending.future().complete((T) result); // Transmet le résultat.
+        }
+    }
+
+    private void stop() { // Ferme l'admission des écritures.
+        synchronized (admission) { // Exclut une mise en file concurrente.
+            running = false; // Les écritures suivantes sont refusées.
+        }
+    }
+
+    @Override
+    public void close() { // Arrête l'écrivain après avoir vidé la file.
+        stop(); // Refuse les nouvelles écritures.
+        try { // Attend la fin du thread.
+            thread.join(); // Le dernier lot est validé avant de sortir.
+        } catch (InterruptedException e) { // Interruption pendant l'attente.
+            Thread.currentThread().interrupt(); // Restaure le drapeau d'interruption.
+        }
+    }
+}
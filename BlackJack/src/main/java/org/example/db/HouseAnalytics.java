@@ -0,0 +1,250 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import java.sql.PreparedStatement; // Importe PreparedStatement pour les requêtes paramétrées.
+import java.sql.ResultSet; // Importe ResultSet pour lire les tranches.
+import java.sql.SQLException; // Importe SQLException pour les erreurs JDBC.
+import java.sql.Statement; // Importe Statement pour les purges de la reprise.
+import java.util.ArrayList; // Importe ArrayList pour les tâches de reprise.
+import java.util.HashMap; // Importe HashMap pour fusionner les tranches.
+import java.util.HashSet; // Importe HashSet pour les joueurs distincts.
+import java.util.List; // Importe List comme interface générique.
+import java.util.Map; // Importe Map comme interface générique.
+import java.util.Set; // Importe Set comme interface générique.
+import java.util.concurrent.ExecutionException; // Importe ExecutionException pour les échecs de tâche.
+import java.util.concurrent.ExecutorService; // Importe ExecutorService pour la reprise parallèle.
+import java.util.concurrent.Executors; // Importe Executors pour créer le pool de reprise.
+import java.util.concurrent.Future; // Importe Future pour attendre chaque tranche.
+import java.util.function.Consumer; // Importe Consumer pour diffuser les tranches.
+
+public final class HouseAnalytics { // Cumuls horaires et journaliers de la banque (tables house_rollup, UTC).
+    public enum Granularity { // Taille d'une tranche.
+        HOUR("H"), // Tranche horaire.
+        DAY("D"); // Tranche journalière.
+
+        private final String code; // Code stocké en base.
+
+        Granularity(String code) { // Associe le code.
+            this.code = code; // Mémorise le code.
+        }
+    }
+
+    public record Rollup(String start, long rounds, long wagered, long paid, long players) { // Une tranche (ou leur somme) vue par la banque.
+        public long houseNet() { // Résultat de la banque.
+            return wagered - paid; // Mises encaissées moins paiements.
+        }
+
+        public double houseEdge() { // Avantage réalisé de la banque.
+            return wagered == 0 ? 0.0 : (double) houseNet() / wagered; // Rapporté aux mises.
+        }
+    }
+
+    private static final String GRAINS = "WITH g(granularite, fmt) AS (VALUES ('H', '%Y-%m-%d %H:00:00'), ('D', '%Y-%m-%d'))\n"; // Tranches maintenues.
+    private static final String SQL_SETTLE_ROLLUP = GRAINS + """
+            INSERT INTO house_rollup(granularite, debut, manches, mises, paiements)
+            SELECT g.granularite, strftime(g.fmt, s.date_fin), 1, s.mise_totale, s.gain_total FROM session_jeu s, g WHERE s.id_session = ?
+            ON CONFLICT(granularite, debut) DO UPDATE SET
+              manches = manches + 1, mises = mises + excluded.mises, paiements = paiements + excluded.paiements
+            """; // Ajoute une manche réglée aux deux tranches.
+    private static final String SQL_SETTLE_PLAYER = GRAINS + """
+            INSERT OR IGNORE INTO house_rollup_joueur(granularite, debut, id_utilisateur)
+            SELECT g.granularite, strftime(g.fmt, s.date_fin), s.id_utilisateur FROM session_jeu s, g WHERE s.id_session = ?
+            """; // Compte le joueur une fois par tranche (trigger trg_rollup_joueur).
+    private static final String SQL_ID_RANGE =
+            "SELECT coalesce(min(id_session), 0), coalesce(max(id_session), 0), date('now', '-1 day') FROM session_jeu"; // Bornes de la reprise et début de la fenêtre récente.
+    private static final String SQL_CHUNK_ROLLUP = GRAINS + """
+            SELECT g.granularite, strftime(g.fmt, s.date_fin), count(*), sum(s.mise_totale), sum(s.gain_total)
+            FROM session_jeu s, g WHERE s.id_session BETWEEN ? AND ? AND s.resultat IS NOT NULL AND s.date_fin < ?
+            GROUP BY 1, 2
+            """; // Agrégat d'un bloc de sessions antérieures à la fenêtre récente.
+    private static final String SQL_CHUNK_PLAYERS = GRAINS + """
+            SELECT DISTINCT g.granularite, strftime(g.fmt, s.date_fin), s.id_utilisateur
+            FROM session_jeu s, g WHERE s.id_session BETWEEN ? AND ? AND s.resultat IS NOT NULL AND s.date_fin < ?
+            """; // Joueurs distincts d'un bloc.
+    private static final String SQL_INSERT_ROLLUP =
+            "INSERT INTO house_rollup(granularite, debut, manches, mises, paiements) VALUES (?,?,?,?,?)"; // Écriture d'une tranche reprise.
+    private static final String SQL_INSERT_PLAYER =
+            "INSERT OR IGNORE INTO house_rollup_joueur(granularite, debut, id_utilisateur) VALUES (?,?,?)"; // Écriture d'un joueur repris.
+    private static final String SQL_RECENT_ROLLUP = GRAINS + """
+            INSERT INTO house_rollup(granularite, debut, manches, mises, paiements)
+            SELECT g.granularite, strftime(g.fmt, s.date_fin), count(*), sum(s.mise_totale), sum(s.gain_total)
+            FROM session_jeu s, g WHERE s.resultat IS NOT NULL AND s.date_fin >= ?
+            GROUP BY 1, 2
+            """; // Tranches de la fenêtre récente, recalculées sous le verrou d'écriture (index idx_sess_fin).
+    private static final String SQL_RECENT_PLAYERS = GRAINS + """
+            INSERT OR IGNORE INTO house_rollup_joueur(granularite, debut, id_utilisateur)
+            SELECT DISTINCT g.granularite, strftime(g.fmt, s.date_fin), s.id_utilisateur
+            FROM session_jeu s, g WHERE s.resultat IS NOT NULL AND s.date_fin >= ?
+            """; // Joueurs de la fenêtre récente.
+    private static final String SQL_RANGE = """
+            SELECT debut, manches, mises, paiements, joueurs FROM house_rollup
+            WHERE granularite = ? AND debut >= ? AND debut < ? ORDER BY debut
+            """; // Tranches d'une période (parcours de la clé primaire).
+    private static final String SQL_SUMMARY = """
+            SELECT coalesce(sum(manches), 0), coalesce(sum(mises), 0), coalesce(sum(paiements), 0),
+                   (SELECT count(DISTINCT id_utilisateur) FROM house_rollup_joueur
+                    WHERE granularite = ?1 AND debut >= ?2 AND debut < ?3)
+            FROM house_rollup WHERE granularite = ?1 AND debut >= ?2 AND debut < ?3
+            """; // Somme des tranches d'une période ; un joueur actif dans plusieurs tranches compte une fois.
+    private static final int CHUNK_SESSIONS = 50_000; // Sessions par bloc de reprise.
+
+    private final ConnectionPool pool; // Pool partagé avec DatabaseService.
+
+    HouseAnalytics(ConnectionPool pool) { // Construit le moteur sur le pool du service.
+        this.pool = pool; // Mémorise le pool.
+    }
+
+    static void recordSettlement(PooledConnection connection, long sessionId) throws SQLException { // Ajoute une session réglée aux cumuls, dans la transaction du règlement.
+        PreparedStatement rollup = connection.prepare(SQL_SETTLE_ROLLUP); // Réutilise la requête compilée.
+        rollup.setLong(1, sessionId); // Paramètre la session.
+        rollup.executeUpdate(); // Met à jour les tranches H et D.
+        PreparedStatement player = connection.prepare(SQL_SETTLE_PLAYER); // Réutilise la requête compilée.
+        player.setLong(1, sessionId); // Paramètre la session.
+        player.executeUpdate(); // Compte le joueur s'il est nouveau dans la tranche.
+    }
+
+    public void rollups(Granularity granularity, String from, String to, Consumer<Rollup> sink) { // Diffuse les tranches de [from, to).
+        pool.read(connection -> { // Lit sur un lecteur.
+            PreparedStatement ps = range(connection, SQL_RANGE, granularity, from, to); // Prépare la requête.
+            try (ResultSet rs = ps.executeQuery()) { // Parcourt la clé primaire.
+                while (rs.next()) { // Tranche suivante.
+                    sink.accept(new Rollup(rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5))); // Transmet la tranche.
+                }
+            }
+            return null; // Aucun résultat global.
+        });
+    }
+
+    public Rollup summary(Granularity granularity, String from, String to) { // Somme des tranches de [from, to) ; players compte les joueurs distincts de la période.
+        return pool.read(connection -> { // Lit sur un lecteur.
+            PreparedStatement ps = range(connection, SQL_SUMMARY, granularity, from, to); // Prépare la requête.
+            try (ResultSet rs = ps.executeQuery()) { // Une ligne d'agrégat.
+                rs.next(); // Toujours présente.
+                return new Rollup(from, rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)); // Construit la somme.
+            }
+        });
+    }
+
+    private static PreparedStatement range(PooledConnection connection, String sql, Granularity granularity,
+                                           String from, String to) throws SQLException { // Paramètre une requête de période.
+        PreparedStatement ps = connection.prepare(sql); // Réutilise la requête compilée.
+        ps.setString(1, granularity.code); // Granularité.
+        ps.setString(2, from); // Début inclus.
+        ps.setString(3, to); // Fin exclue.
+        return ps; // Retourne la requête prête.
+    }
+
+    private record Span(long first, long last, String recent) { } // Plage d'identifiants et début de la fenêtre récente.
+
+    private record Bucket(String granularity, String start) { } // Clé de tranche pendant la reprise.
+
+    private record Partial(Map<Bucket, long[]> sums, Map<Bucket, Set<Long>> players) { // Agrégat d'un ou plusieurs blocs.
+        Partial() { // Agrégat vide.
+            this(new HashMap<>(), new HashMap<>()); // Tables vides.
+        }
+
+        void merge(Partial other) { // Ajoute un autre agrégat.
+            other.sums.forEach((bucket, s) -> { // Additionne les sommes.
+                long[] mine = sums.computeIfAbsent(bucket, b -> new long[3]); // Tranche cible.
+                for (int i = 0; i < 3; i++) { // Manches, mises, paiements.
+                    mine[i] += s[i]; // Additionne.
+                }
+            });
+            other.players.forEach((bucket, ids) -> players.computeIfAbsent(bucket, b -> new HashSet<>()).addAll(ids)); // Unit les joueurs.
+        }
+    }
+
+    public int backfill(int parallelism) { // Reconstruit les cumuls depuis session_jeu ; retourne le nombre de tranches écrites.
+        Span span = pool.read(connection -> { // Bornes de la reprise.
+            try (ResultSet rs = connection.prepare(SQL_ID_RANGE).executeQuery()) { // Une ligne.
+                rs.next(); // Toujours présente.
+                return new Span(rs.getLong(1), rs.getLong(2), rs.getString(3)); // min, max, début de la veille.
+            }
+        });
+        long first = span.first(); // Premier identifiant.
+        long last = span.last(); // Dernier identifiant.
+        String recent = span.recent(); // Avant la veille, les sessions réglées ne bougent plus ; la fenêtre récente est recalculée à l'écriture.
+
+        Partial total = new Partial(); // Agrégat global.
+        if (last > 0) { // Au moins une session.
+            ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, parallelism)); // Blocs lus en parallèle sur les lecteurs du pool.
+            try { // Soumet et fusionne.
+                List<Future<Partial>> parts = new ArrayList<>(); // Blocs en cours.
+                for (long lo = first; lo <= last; lo += CHUNK_SESSIONS) { // Découpe la plage d'identifiants.
+                    long from = lo; // Début du bloc.
+                    long to = Math.min(last, lo + CHUNK_SESSIONS - 1); // Fin du bloc.
+                    parts.add(workers.submit(() -> scan(from, to, recent))); // Lecture du bloc.
+                }
+                for (Future<Partial> part : parts) { // Attend chaque bloc.
+                    total.merge(part.get()); // Fusionne.
+                }
+            } catch (InterruptedException e) { // Interruption de la reprise.
+                Thread.currentThread().interrupt(); // Restaure le drapeau.
+                throw new IllegalStateException("backfill interrompu", e); // Abandonne sans écrire.
+            } catch (ExecutionException e) { // Échec d'un bloc.
+                throw new RuntimeException("backfill", e.getCause()); // Abandonne sans écrire.
+            } finally { // Libère les threads.
+                workers.shutdown(); // Arrête le pool.
+            }
+        }
+        return pool.transaction(connection -> write(connection, total, recent)); // Remplace les cumuls en une transaction.
+    }
+
+    private Partial scan(long from, long to, String recent) { // Agrège un bloc de sessions sur un lecteur.
+        return pool.read(connection -> { // Lit sur un lecteur.
+            Partial partial = new Partial(); // Agrégat du bloc.
+            PreparedStatement ps = connection.prepare(SQL_CHUNK_ROLLUP); // Réutilise la requête compilée.
+            ps.setLong(1, from); // Début du bloc.
+            ps.setLong(2, to); // Fin du bloc.
+            ps.setString(3, recent); // Exclut la fenêtre récente.
+            try (ResultSet rs = ps.executeQuery()) { // Parcourt les tranches du bloc.
+                while (rs.next()) { // Tranche suivante.
+                    partial.sums.put(new Bucket(rs.getString(1), rs.getString(2)), new long[] {rs.getLong(3), rs.getLong(4), rs.getLong(5)}); // Mémorise les sommes.
+                }
+            }
+            PreparedStatement pp = connection.prepare(SQL_CHUNK_PLAYERS); // Réutilise la requête compilée.
+            pp.setLong(1, from); // Début du bloc.
+            pp.setLong(2, to); // Fin du bloc.
+            pp.setString(3, recent); // Exclut la fenêtre récente.
+            try (ResultSet rs = pp.executeQuery()) { // Parcourt les joueurs du bloc.
+                while (rs.next()) { // Joueur suivant.
+                    partial.players.computeIfAbsent(new Bucket(rs.getString(1), rs.getString(2)), b -> new HashSet<>()).add(rs.getLong(3)); // Mémorise le joueur.
+                }
+            }
+            return partial; // Retourne l'agrégat.
+        });
+    }
+
+    private static int write(PooledConnection connection, Partial total, String recent) throws SQLException { // Remplace les cumuls sous le verrou d'écriture.
+        try (Statement st = connection.raw().createStatement()) { // Purge les cumuls existants.
+            st.executeUpdate("DELETE FROM house_rollup_joueur"); // Joueurs comptés.
+            st.executeUpdate("DELETE FROM house_rollup"); // Tranches.
+        }
+        PreparedStatement rollup = connection.prepare(SQL_INSERT_ROLLUP); // Réutilise la requête compilée.
+        for (Map.Entry<Bucket, long[]> e : total.sums.entrySet()) { // Chaque tranche passée.
+            rollup.setString(1, e.getKey().granularity()); // Granularité.
+            rollup.setString(2, e.getKey().start()); // Début.
+            rollup.setLong(3, e.getValue()[0]); // Manches.
+            rollup.setLong(4, e.getValue()[1]); // Mises.
+            rollup.setLong(5, e.getValue()[2]); // Paiements.
+            rollup.addBatch(); // Ajoute au lot.
+        }
+        rollup.executeBatch(); // Écrit les tranches.
+        PreparedStatement player = connection.prepare(SQL_INSERT_PLAYER); // Réutilise la requête compilée.
+        for (Map.Entry<Bucket, Set<Long>> e : total.players.entrySet()) { // Chaque tranche passée.
+            for (long userId : e.getValue()) { // Chaque joueur distinct.
+                player.setString(1, e.getKey().granularity()); // Granularité.
+                player.setString(2, e.getKey().start()); // Début.
+                player.setLong(3, userId); // Joueur.
+                player.addBatch(); // Ajoute au lot (le trigger incrémente joueurs).
+            }
+        }
+        player.executeBatch(); // Écrit les joueurs.
+        PreparedStatement recentRollup = connection.prepare(SQL_RECENT_ROLLUP); // Fenêtre récente, exacte sous le verrou.
+        recentRollup.setString(1, recent); // Depuis le début de la veille.
+        int recentBuckets = recentRollup.executeUpdate(); // Écrit les tranches récentes.
+        PreparedStatement recentPlayers = connection.prepare(SQL_RECENT_PLAYERS); // Joueurs de la fenêtre récente.
+        recentPlayers.setString(1, recent); // Depuis le début de la veille.
+        recentPlayers.executeUpdate(); // Écrit les joueurs récents.
+        return total.sums.size() + recentBuckets; // Nombre de tranches écrites.
+    }
+}
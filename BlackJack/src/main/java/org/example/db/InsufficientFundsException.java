@@ -0,0 +1,16 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+public final class InsufficientFundsException extends RuntimeException { // Débit refusé : le solde ne couvre pas le montant.
+    private static final long serialVersionUID = 1L; // Version de sérialisation.
+
+    private final int balance; // Solde au moment du refus.
+
+    public InsufficientFundsException(int balance) { // Construit le refus avec le solde courant.
+        super("Solde insuffisant (" + balance + ")"); // Message affichable tel quel.
+        this.balance = balance; // Mémorise le solde.
+    }
+
+    public int balance() { // Solde au moment du refus.
+        return balance; // Retourne le solde.
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import java.util.ArrayList; // Importe ArrayList pour extraire le haut du classement.
+import java.util.Comparator; // Importe Comparator pour ordonner le classement.
+import java.util.HashMap; // Importe HashMap pour retrouver l'entrée d'un joueur.
+import java.util.List; // Importe List comme interface générique.
+import java.util.Map; // Importe Map comme interface générique.
+import java.util.TreeSet; // Importe TreeSet pour maintenir l'ordre à chaque mise à jour.
+
+public final class Leaderboard { // Classement en mémoire par résultat net, mis à jour après chaque règlement validé.
+    public record Entry(long userId, String pseudo, long net, int rounds) { } // Position d'un joueur ; rounds sert de version.
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::net).reversed() // Meilleur résultat net en tête.
+            .thenComparingLong(Entry::userId); // Départage stable par identifiant.
+
+    private final TreeSet<Entry> ranking = new TreeSet<>(ORDER); // Joueurs triés : mise à jour en O(log n).
+    private final Map<Long, Entry> byUser = new HashMap<>(); // Entrée courante de chaque joueur.
+
+    Leaderboard() { // Construit un classement vide, alimenté par DatabaseService.
+    }
+
+    synchronized void update(Entry entry) { // Remplace l'entrée d'un joueur si elle est plus récente.
+        Entry previous = byUser.get(entry.userId()); // Entrée connue.
+        if (previous != null) { // Le joueur est déjà classé.
+            if (previous.rounds() >= entry.rounds()) { // Valeur plus ancienne (chargement concurrent d'un instantané).
+                return; // Conserve la plus récente.
+            }
+            ranking.remove(previous); // Retire l'ancienne position.
+        }
+        byUser.put(entry.userId(), entry); // Mémorise la nouvelle entrée.
+        ranking.add(entry); // Insère à la nouvelle position.
+    }
+
+    public synchronized List<Entry> top(int n) { // Retourne les n premiers joueurs.
+        List<Entry> result = new ArrayList<>(Math.min(n, ranking.size())); // Liste dimensionnée.
+        for (Entry entry : ranking) { // Parcourt dans l'ordre du classement.
+            if (result.size() == n) { // Quota atteint.
+                break; // Arrête le parcours.
+            }
+            result.add(entry); // Ajoute le joueur.
+        }
+        return result; // Retourne le haut du classement.
+    }
+
+    public synchronized int size() { // Nombre de joueurs classés.
+        return ranking.size(); // Taille du classement.
+    }
+}
@@ -0,0 +1,242 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import java.io.BufferedReader; // Importe BufferedReader pour relire une archive.
+import java.io.BufferedWriter; // Importe BufferedWriter pour écrire une archive.
+import java.io.IOException; // Importe IOException pour les erreurs de fichier.
+import java.io.InputStreamReader; // Importe InputStreamReader pour décoder une archive.
+import java.io.OutputStreamWriter; // Importe OutputStreamWriter pour encoder une archive.
+import java.io.UncheckedIOException; // Importe UncheckedIOException pour propager les erreurs de fichier.
+import java.nio.channels.FileChannel; // Importe FileChannel pour forcer l'archive sur disque.
+import java.nio.charset.StandardCharsets; // Importe l'encodage UTF-8.
+import java.nio.file.Files; // Importe Files pour manipuler les fichiers.
+import java.nio.file.Path; // Importe Path pour représenter les chemins.
+import java.nio.file.StandardCopyOption; // Importe les options de déplacement atomique.
+import java.nio.file.StandardOpenOption; // Importe les options d'ouverture.
+import java.sql.PreparedStatement; // Importe PreparedStatement pour les requêtes paramétrées.
+import java.sql.ResultSet; // Importe ResultSet pour lire le grand livre.
+import java.sql.SQLException; // Importe SQLException pour les erreurs JDBC.
+import java.util.ArrayList; // Importe ArrayList pour lister les archives.
+import java.util.List; // Importe List comme interface générique.
+import java.util.function.Consumer; // Importe Consumer pour diffuser les lignes archivées.
+import java.util.zip.GZIPInputStream; // Importe GZIPInputStream pour relire une archive.
+import java.util.zip.GZIPOutputStream; // Importe GZIPOutputStream pour compresser une archive.
+
+public final class LedgerCompactor { // Déplace les lignes anciennes de txn vers des archives gzip et pose des points de contrôle de solde.
+    public record Result(String file, long firstTx, long lastTx, int rows) { } // Bilan d'un compactage.
+
+    private static final String SQL_BOUNDS = """
+            SELECT coalesce((SELECT max(dernier_id_tx) FROM txn_archive), 0),
+                   coalesce((SELECT max(id_tx) FROM txn WHERE created_at < datetime('now', ?)), 0)
+            """; // Dernière ligne déjà archivée et dernière ligne assez ancienne.
+    private static final String SQL_ROWS = """
+            SELECT id_tx, id_utilisateur, id_session, type, montant, solde_avant, solde_apres, note, created_at
+            FROM txn WHERE id_tx > ? AND id_tx <= ? ORDER BY id_tx
+            """; // Lignes à archiver (parcours de la clé primaire).
+    private static final String SQL_CHECKPOINT = """
+            INSERT OR REPLACE INTO balance_checkpoint(id_utilisateur, id_tx, solde)
+            SELECT id_utilisateur, max(id_tx), solde_apres FROM txn WHERE id_tx > ? AND id_tx <= ? GROUP BY id_utilisateur
+            """; // Solde après la dernière ligne archivée de chaque utilisateur concerné.
+    private static final String SQL_REGISTER =
+            "INSERT INTO txn_archive(fichier, premier_id_tx, dernier_id_tx, lignes) VALUES (?,?,?,?)"; // Enregistre l'archive.
+    private static final String SQL_LAST_ARCHIVED =
+            "SELECT coalesce(max(dernier_id_tx), 0) FROM txn_archive"; // Dernière ligne archivée, relue sous le verrou de l'écrivain.
+    private static final String SQL_PURGE = "DELETE FROM txn WHERE id_tx > ? AND id_tx <= ?"; // Retire les lignes archivées.
+    private static final String SQL_LAST_CHECKPOINT =
+            "SELECT id_tx, solde FROM balance_checkpoint WHERE id_utilisateur=? ORDER BY id_tx DESC LIMIT 1"; // Point de contrôle le plus récent.
+    private static final String SQL_LIVE_SUM =
+            "SELECT coalesce(sum(montant), 0) FROM txn WHERE id_utilisateur=? AND id_tx > ?"; // Mouvements vivants postérieurs.
+    private static final String SQL_ARCHIVES = "SELECT fichier FROM txn_archive ORDER BY premier_id_tx"; // Archives dans l'ordre du grand livre.
+
+    private final ConnectionPool pool; // Pool partagé avec DatabaseService.
+
+    LedgerCompactor(ConnectionPool pool) { // Construit le compacteur sur le pool du service.
+        this.pool = pool; // Mémorise le pool.
+    }
+
+    public synchronized Result compact(int keepDays, Path archiveDir) { // Archive les lignes de plus de keepDays jours ; retourne null s'il n'y a rien à faire.
+        long[] bounds = pool.read(connection -> { // Bornes de l'archive.
+            PreparedStatement ps = connection.prepare(SQL_BOUNDS); // Réutilise la requête compilée.
+            ps.setString(1, "-" + keepDays + " days"); // Âge minimal.
+            try (ResultSet rs = ps.executeQuery()) { // Une ligne.
+                rs.next(); // Toujours présente.
+                return new long[] {rs.getLong(1), rs.getLong(2)}; // Déjà archivé, limite.
+            }
+        });
+        long after = bounds[0]; // Lignes déjà archivées.
+        long upTo = bounds[1]; // Le grand livre est en ajout seul : les lignes <= upTo ne changeront plus.
+        if (upTo <= after) { // Rien de nouveau à archiver.
+            return null; // Aucun compactage.
+        }
+
+        String name = "txn-" + (after + 1) + "-" + upTo + ".tsv.gz"; // Nom stable de l'archive.
+        Path target = archiveDir.resolve(name); // Chemin final.
+        boolean[] published = new boolean[1]; // Indique si l'archive a été déplacée sous son nom final par ce passage.
+        Path tmp = createTemp(archiveDir); // Fichier temporaire dans le même dossier.
+        try { // Le temporaire disparaît même en cas d'échec.
+            int rows = writeArchive(tmp, after, upTo); // Écrit et force l'archive avant de toucher la base.
+            boolean done = pool.transaction(connection -> { // Publication, points de contrôle, enregistrement et purge sous le verrou de l'écrivain.
+                PreparedStatement last = connection.prepare(SQL_LAST_ARCHIVED); // Réutilise la requête compilée.
+                try (ResultSet rs = last.executeQuery()) { // Relit le point d'archivage sous le verrou.
+                    rs.next(); // Toujours présente.
+                    if (rs.getLong(1) != after) { // Un autre compactage a archivé cette plage entre-temps.
+                        return false; // Abandonne sans toucher à son archive.
+                    }
+                }
+                move(tmp, target); // Publie sous son nom final.
+                published[0] = true; // À retirer si la transaction échoue.
+                PreparedStatement checkpoint = connection.prepare(SQL_CHECKPOINT); // Réutilise la requête compilée.
+                checkpoint.setLong(1, after); // Début de la plage.
+                checkpoint.setLong(2, upTo); // Fin de la plage.
+                checkpoint.executeUpdate(); // Pose les points de contrôle.
+                PreparedStatement register = connection.prepare(SQL_REGISTER); // Réutilise la requête compilée.
+                register.setString(1, name); // Fichier.
+                register.setLong(2, after + 1); // Première ligne.
+                register.setLong(3, upTo); // Dernière ligne.
+                register.setInt(4, rows); // Nombre de lignes.
+                register.executeUpdate(); // Enregistre l'archive.
+                PreparedStatement purge = connection.prepare(SQL_PURGE); // Réutilise la requête compilée.
+                purge.setLong(1, after); // Début de la plage.
+                purge.setLong(2, upTo); // Fin de la plage.
+                purge.executeUpdate(); // Les pages libérées sont réutilisées par les insertions suivantes.
+                return true; // Archive publiée.
+            });
+            return done ? new Result(name, after + 1, upTo, rows) : null; // Bilan, ou null si un autre passage a déjà archivé.
+        } catch (RuntimeException e) { // La base n'a pas bougé.
+            if (published[0]) { // Notre archive a été publiée mais pas enregistrée.
+                deleteQuietly(target); // Retire l'archive orpheline.
+            }
+            throw new RuntimeException("compact", e); // Propage l'erreur annotée.
+        } finally { // Après le déplacement, le temporaire n'existe plus.
+            deleteQuietly(tmp); // Nettoie un éventuel reste.
+        }
+    }
+
+    private static Path createTemp(Path archiveDir) { // Crée le temporaire de l'archive.
+        try { // Gère les erreurs de fichier.
+            Files.createDirectories(archiveDir); // Crée le dossier si besoin.
+            return Files.createTempFile(archiveDir, "txn-", ".tmp"); // Même dossier : déplacement atomique possible.
+        } catch (IOException e) { // Erreur de fichier.
+            throw new UncheckedIOException("compact", e); // Propage l'erreur annotée.
+        }
+    }
+
+    private static void move(Path tmp, Path target) { // Publie l'archive atomiquement.
+        try { // Gère les erreurs de fichier.
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING); // Renommage atomique.
+        } catch (IOException e) { // Erreur de fichier.
+            throw new UncheckedIOException("compact", e); // Annule la transaction.
+        }
+    }
+
+    private static void deleteQuietly(Path path) { // Supprime un fichier sans propager d'erreur.
+        try { // Gère les erreurs de fichier.
+            Files.deleteIfExists(path); // Supprime le fichier.
+        } catch (IOException ignore) { // Un fichier orphelin est sans effet : il n'est pas enregistré.
+        }
+    }
+
+    private int writeArchive(Path tmp, long after, long upTo) { // Remplit le temporaire et le force sur disque.
+        int rows = pool.read(connection -> { // Lit sur un lecteur, sans bloquer l'écrivain.
+            PreparedStatement ps = connection.prepare(SQL_ROWS); // Réutilise la requête compilée.
+            ps.setLong(1, after); // Début de la plage.
+            ps.setLong(2, upTo); // Fin de la plage.
+            int count = 0; // Lignes écrites.
+            try (ResultSet rs = ps.executeQuery();
+                 BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                         new GZIPOutputStream(Files.newOutputStream(tmp), 1 << 16), StandardCharsets.UTF_8))) { // Flux compressé.
+                while (rs.next()) { // Ligne suivante.
+                    out.write(rs.getLong(1) + "\t" + rs.getLong(2) + "\t" + rs.getString(3) + "\t" + rs.getString(4) + "\t"
+                            + rs.getInt(5) + "\t" + rs.getInt(6) + "\t" + rs.getInt(7) + "\t" + escape(rs.getString(8)) + "\t"
+                            + rs.getString(9)); // Une ligne TSV.
+                    out.newLine(); // Fin de ligne.
+                    count++; // Compte la ligne.
+                }
+            } catch (IOException e) { // Erreur d'écriture.
+                throw new UncheckedIOException(e); // Propage hors du travail SQL.
+            }
+            return count; // Lignes écrites.
+        });
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) { // Rouvre pour synchroniser.
+            channel.force(true); // L'archive est durable avant la purge.
+        } catch (IOException e) { // Erreur de synchronisation.
+            throw new UncheckedIOException("compact", e); // Propage l'erreur annotée.
+        }
+        return rows; // Lignes archivées.
+    }
+
+    public int reconstructBalance(long userId) { // Solde recalculé : dernier point de contrôle + lignes vivantes ; doit égaler wallet.solde_actuel.
+        return pool.read(connection -> { // Lit sur un lecteur (instantané cohérent).
+            long checkpointTx = 0; // Aucune ligne archivée par défaut.
+            int balance = 0; // Solde de départ.
+            PreparedStatement ps = connection.prepare(SQL_LAST_CHECKPOINT); // Réutilise la requête compilée.
+            ps.setLong(1, userId); // Paramètre l'utilisateur.
+            try (ResultSet rs = ps.executeQuery()) { // Point de contrôle éventuel.
+                if (rs.next()) { // L'utilisateur a des lignes archivées.
+                    checkpointTx = rs.getLong(1); // Dernière ligne archivée.
+                    balance = rs.getInt(2); // Solde à ce moment.
+                }
+            }
+            PreparedStatement live = connection.prepare(SQL_LIVE_SUM); // Réutilise la requête compilée.
+            live.setLong(1, userId); // Paramètre l'utilisateur.
+            live.setLong(2, checkpointTx); // Lignes postérieures.
+            try (ResultSet rs = live.executeQuery()) { // Somme des mouvements.
+                rs.next(); // Toujours présente.
+                return balance + rs.getInt(1); // Solde reconstitué.
+            }
+        });
+    }
+
+    public void archivedEntries(long userId, Path archiveDir, Consumer<DatabaseService.LedgerEntry> sink) { // Diffuse les lignes archivées d'un utilisateur, des plus anciennes aux plus récentes.
+        List<String> files = pool.read(connection -> { // Liste des archives enregistrées.
+            List<String> names = new ArrayList<>(); // Noms de fichiers.
+            try (ResultSet rs = connection.prepare(SQL_ARCHIVES).executeQuery()) { // Parcourt le registre.
+                while (rs.next()) { // Archive suivante.
+                    names.add(rs.getString(1)); // Mémorise le nom.
+                }
+            }
+            return names; // Retourne la liste.
+        });
+        String prefix = "\t" + userId + "\t"; // Colonne utilisateur d'une ligne TSV.
+        for (String file : files) { // Parcourt chaque archive.
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(archiveDir.resolve(file)), 1 << 16), StandardCharsets.UTF_8))) { // Flux décompressé.
+                String line; // Ligne courante.
+                while ((line = in.readLine()) != null) { // Jusqu'à la fin de l'archive.
+                    int tab = line.indexOf('\t'); // Fin de l'identifiant.
+                    if (!line.startsWith(prefix, tab)) { // Autre utilisateur.
+                        continue; // Ignore sans découper la ligne.
+                    }
+                    String[] f = line.split("\t", -1); // Découpe les colonnes.
+                    sink.accept(new DatabaseService.LedgerEntry(Long.parseLong(f[0]), "null".equals(f[2]) ? null : Long.valueOf(f[2]), f[3],
+                            Integer.parseInt(f[4]), Integer.parseInt(f[5]), Integer.parseInt(f[6]), unescape(f[7]), f[8])); // Transmet la ligne.
+                }
+            } catch (IOException e) { // Archive illisible.
+                throw new UncheckedIOException(file, e); // Propage l'erreur annotée.
+            }
+        }
+    }
+
+    private static String escape(String value) { // Protège tabulations et retours à la ligne d'une note.
+        if (value == null) { // Note absente.
+            return "\\N"; // Marqueur de nullité.
+        }
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r"); // Échappe les séparateurs.
+    }
+
+    private static String unescape(String value) { // Inverse escape.
+        if ("\\N".equals(value)) { // Marqueur de nullité.
+            return null; // Note absente.
+        }
+        StringBuilder sb = new StringBuilder(value.length()); // Résultat.
+        for (int i = 0; i < value.length(); i++) { // Parcourt chaque caractère.
+            char c = value.charAt(i); // Caractère courant.
+            if (c == '\\' && i + 1 < value.length()) { // Séquence d'échappement.
+                char next = value.charAt(++i); // Caractère échappé.
+                sb.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next); // Restaure le caractère.
+            } else { // Caractère ordinaire.
+                sb.append(c); // Recopie.
+            }
+        }
+        return sb.toString(); // Retourne la note.
+    }
+}
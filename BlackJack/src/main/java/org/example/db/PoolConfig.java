@@ -0,0 +1,17 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+public record PoolConfig(int readers, String synchronous, long mmapSize, int cacheSize, int busyTimeoutMs) { // Réglages du pool et des PRAGMA SQLite.
+    public static PoolConfig defaults() { // Réglages adaptés à une application de bureau.
+        int readers = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())); // Entre 2 et 4 lecteurs selon la machine.
+        return new PoolConfig(readers, "NORMAL", 64L * 1024 * 1024, -16_000, 5_000); // WAL + NORMAL, 64 Mo mappés, ~16 Mo de cache.
+    }
+
+    public PoolConfig { // Constructeur compact validant les réglages.
+        if (readers < 1) { // Au moins un lecteur.
+            throw new IllegalArgumentException("readers >= 1"); // Refuse une configuration sans lecteur.
+        }
+        if (!synchronous.matches("(?i)OFF|NORMAL|FULL|EXTRA")) { // Valeurs acceptées par SQLite.
+            throw new IllegalArgumentException("synchronous invalide: " + synchronous); // Refuse une valeur inconnue.
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import java.sql.Connection; // Importe Connection pour la connexion enveloppée.
+import java.sql.PreparedStatement; // Importe PreparedStatement pour les requêtes compilées.
+import java.sql.SQLException; // Importe SQLException pour les erreurs JDBC.
+import java.sql.Statement; // Importe Statement pour la constante RETURN_GENERATED_KEYS.
+import java.util.HashMap; // Importe HashMap pour le cache par connexion.
+import java.util.Map; // Importe Map comme interface générique.
+import java.util.concurrent.atomic.LongAdder; // Importe LongAdder pour des compteurs partagés sans contention.
+
+public final class PooledConnection { // Connexion du pool avec son cache de requêtes préparées.
+    private final Connection connection; // Connexion JDBC enveloppée.
+    private final Map<String, PreparedStatement> statements = new HashMap<>(); // Requêtes compilées, réutilisées toute la vie de la connexion.
+    private final LongAdder hits; // Compteur partagé des réutilisations.
+    private final LongAdder misses; // Compteur partagé des compilations.
+
+    PooledConnection(Connection connection, LongAdder hits, LongAdder misses) { // Constructeur réservé au pool.
+        this.connection = connection; // Mémorise la connexion.
+        this.hits = hits; // Mémorise le compteur de succès.
+        this.misses = misses; // Mémorise le compteur d'échecs.
+    }
+
+    public PreparedStatement prepare(String sql) throws SQLException { // Retourne la requête compilée ; ne pas la fermer.
+        PreparedStatement ps = statements.get(sql); // Cherche dans le cache.
+        if (ps == null) { // Première utilisation sur cette connexion.
+            misses.increment(); // Compte la compilation.
+            ps = connection.prepareStatement(sql); // Compile la requête une seule fois.
+            statements.put(sql, ps); // Met en cache.
+        } else { // Requête déjà compilée.
+            hits.increment(); // Compte la réutilisation.
+        }
+        return ps; // Retourne la requête prête.
+    }
+
+    public PreparedStatement prepareReturningKeys(String sql) throws SQLException { // Variante retournant les clés générées ; ne pas la fermer.
+        String key = "\u0000keys:" + sql; // Clé distincte de la variante simple.
+        PreparedStatement ps = statements.get(key); // Cherche dans le cache.
+        if (ps == null) { // Première utilisation sur cette connexion.
+            misses.increment(); // Compte la compilation.
+            ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS); // Compile avec récupération des clés.
+            statements.put(key, ps); // Met en cache.
+        } else { // Requête déjà compilée.
+            hits.increment(); // Compte la réutilisation.
+        }
+        return ps; // Retourne la requête prête.
+    }
+
+    public Connection raw() { // Accès à la connexion pour les Statement ponctuels et la gestion des transactions.
+        return connection; // Retourne la connexion JDBC.
+    }
+
+    void close() { // Ferme les requêtes en cache puis la connexion.
+        for (PreparedStatement ps : statements.values()) { // Parcourt le cache.
+            try { ps.close(); } catch (SQLException ignore) { } // Ferme sans interrompre la fermeture.
+        }
+        statements.clear(); // Vide le cache.
+        try { connection.close(); } catch (SQLException ignore) { } // Ferme la connexion.
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import java.io.BufferedReader; // Importe BufferedReader pour lire les scripts ligne à ligne.
+import java.io.IOException; // Importe IOException pour les erreurs de lecture.
+import java.io.InputStream; // Importe InputStream pour lire les ressources.
+import java.io.StringReader; // Importe StringReader pour parcourir un script chargé.
+import java.nio.charset.StandardCharsets; // Importe l'encodage UTF-8.
+import java.sql.ResultSet; // Importe ResultSet pour lire user_version.
+import java.sql.SQLException; // Importe SQLException pour les erreurs JDBC.
+import java.sql.Statement; // Importe Statement pour exécuter le DDL.
+import java.util.ArrayList; // Importe ArrayList pour accumuler les instructions.
+import java.util.List; // Importe List comme interface générique.
+import java.util.Locale; // Importe Locale pour les comparaisons insensibles à la casse.
+
+final class SchemaMigrator { // Applique les scripts numérotés de db/migration et suit la version via PRAGMA user_version.
+    private static final String LOCATION = "/db/migration/"; // Dossier des scripts dans le classpath.
+    private static final String[] SCRIPTS = { // Scripts ordonnés : l'index + 1 est la version atteinte.
+            "V1__init.sql", // Schéma initial.
+            "V2__history_indexes.sql", // Index de l'historique paginé.
+            "V3__user_stats.sql", // Statistiques agrégées par joueur.
+            "V4__house_rollup.sql", // Cumuls horaires et journaliers de la banque.
+            "V5__ledger_checkpoint.sql", // Points de contrôle et registre des archives.
+            "V6__login_token.sql", // Jetons de connexion persistants.
+    };
+
+    private final ConnectionPool pool; // Pool fournissant l'écrivain.
+
+    SchemaMigrator(ConnectionPool pool) { // Prépare le migrateur.
+        this.pool = pool; // Mémorise le pool.
+    }
+
+    static int latestVersion() { // Version atteinte une fois tous les scripts appliqués.
+        return SCRIPTS.length; // Un script par version.
+    }
+
+    int migrate() { // Met le schéma à jour ; retourne la version finale.
+        int current = pool.write(SchemaMigrator::userVersion); // Lecture d'un entier dans l'en-tête : aucun DDL si à jour.
+        for (int version = current + 1; version <= latestVersion(); version++) { // Applique les scripts manquants dans l'ordre.
+            apply(version); // Une transaction par script.
+        }
+        return Math.max(current, latestVersion()); // Une base plus récente que l'application est laissée telle quelle.
+    }
+
+    private void apply(int version) { // Exécute un script et enregistre sa version dans la même transaction.
+        String script = SCRIPTS[version - 1]; // Nom du script.
+        List<String> statements = split(read(script)); // Découpe le script en instructions.
+        try { // Enveloppe l'erreur avec le nom du script.
+            pool.transaction(connection -> { // Le script et la version sont validés ensemble.
+                try (Statement st = connection.raw().createStatement()) { // Statement dédié au DDL.
+                    for (String sql : statements) { // Parcourt chaque instruction.
+                        st.executeUpdate(sql); // Exécute l'instruction.
+                    }
+                    st.executeUpdate("PRAGMA user_version = " + version); // Enregistre la version (transactionnel en SQLite).
+                }
+                return null; // Aucun résultat attendu.
+            });
+        } catch (RuntimeException e) { // Échec du script : la base reste à la version précédente.
+            throw new RuntimeException("migration " + script, e); // Propage l'erreur annotée.
+        }
+    }
+
+    private static int userVersion(PooledConnection connection) throws SQLException { // Lit PRAGMA user_version.
+        try (Statement st = connection.raw().createStatement(); ResultSet rs = st.executeQuery("PRAGMA user_version")) { // Exécute le pragma.
+            return rs.next() ? rs.getInt(1) : 0; // Retourne la version ou 0.
+        }
+    }
+
+    private static String read(String script) { // Charge un script depuis le classpath.
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream(LOCATION + script)) { // Ouvre la ressource.
+            if (in == null) { // Script absent du classpath.
+                throw new IllegalStateException("Script de migration introuvable: " + script); // Signale l'incohérence du build.
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8); // Décode le script.
+        } catch (IOException e) { // Erreur de lecture.
+            throw new RuntimeException("migration " + script, e); // Propage l'erreur annotée.
+        }
+    }
+
+    static List<String> split(String script) { // Découpe un script en instructions ; les blocs BEGIN...END des triggers restent entiers.
+        List<String> statements = new ArrayList<>(); // Instructions trouvées.
+        StringBuilder current = new StringBuilder(); // Instruction en cours.
+        boolean inTrigger = false; // Vrai entre CREATE TRIGGER et END;.
+        try (BufferedReader reader = new BufferedReader(new StringReader(script))) { // Parcourt ligne à ligne.
+            String line; // Ligne courante.
+            while ((line = reader.readLine()) != null) { // Jusqu'à la fin du script.
+                int comment = line.indexOf("--"); // Les scripts n'utilisent pas "--" dans les littéraux.
+                String code = (comment >= 0 ? line.substring(0, comment) : line).strip(); // Retire le commentaire.
+                if (code.isEmpty()) { // Ligne vide ou commentaire.
+                    continue; // Ignore.
+                }
+                String upper = code.toUpperCase(Locale.ROOT); // Forme normalisée pour les mots-clés.
+                if (current.isEmpty() && upper.startsWith("CREATE TRIGGER")) { // Début d'un trigger.
+                    inTrigger = true; // Les ';' internes ne terminent pas l'instruction.
+                }
+                current.append(code).append('\n'); // Accumule la ligne.
+                boolean ends = inTrigger ? upper.equals("END;") : code.endsWith(";"); // Fin d'instruction.
+                if (ends) { // Instruction complète.
+                    String sql = current.toString().strip(); // Texte complet.
+                    statements.add(inTrigger ? sql : sql.substring(0, sql.length() - 1)); // Le trigger garde son END; final.
+                    current.setLength(0); // Prépare l'instruction suivante.
+                    inTrigger = false; // Sort du bloc éventuel.
+                }
+            }
+        } catch (IOException e) { // Impossible avec un StringReader.
+            throw new IllegalStateException(e); // Garde-fou.
+        }
+        if (!current.toString().isBlank()) { // Instruction finale sans ';'.
+            statements.add(current.toString().strip()); // L'ajoute telle quelle.
+        }
+        return statements; // Retourne les instructions.
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import java.sql.SQLException; // Importe SQLException pour les erreurs JDBC.
+
+@FunctionalInterface
+public interface SqlWork<T> { // Travail exécuté sur une connexion prêtée par le pool.
+    T run(PooledConnection connection) throws SQLException; // Exécute le travail et retourne son résultat.
+}
@@ -0,0 +1,108 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import org.example.SecurityUtil; // Importe l'utilitaire de hachage de mot de passe.
+
+import java.io.BufferedReader; // Importe BufferedReader pour lire le CSV ligne à ligne.
+import java.io.IOException; // Importe IOException pour les erreurs de lecture.
+import java.io.Reader; // Importe Reader pour accepter tout flux texte.
+import java.io.UncheckedIOException; // Importe UncheckedIOException pour propager les erreurs de lecture.
+import java.sql.PreparedStatement; // Importe PreparedStatement pour l'insertion par lots.
+import java.util.ArrayList; // Importe ArrayList pour les lots.
+import java.util.List; // Importe List comme interface générique.
+import java.util.concurrent.CompletableFuture; // Importe CompletableFuture pour les hachages parallèles.
+import java.util.concurrent.ExecutorService; // Importe ExecutorService pour le pool de hachage.
+import java.util.concurrent.Executors; // Importe Executors pour créer le pool.
+import java.util.function.Consumer; // Importe Consumer pour la progression.
+
+final class UserImporter { // Import CSV de comptes : hachage parallèle et insertion par lots en grandes transactions.
+    private static final String SQL_INSERT = """
+            INSERT INTO utilisateur(email, pseudo, hash_mdp) VALUES (?, ?, ?)
+            ON CONFLICT(email) DO NOTHING
+            """; // Un email déjà présent est ignoré sans interrompre le lot.
+    private static final int BATCH = 5000; // Comptes par transaction.
+
+    private record Row(String email, String pseudo, CompletableFuture<String> hash) { } // Compte lu et son hash en cours de calcul.
+
+    private final ConnectionPool pool; // Pool fournissant l'écrivain.
+    private final int cost; // Coût bcrypt des comptes importés.
+    private final Consumer<DatabaseService.ImportProgress> progress; // Rappel après chaque lot validé.
+    private final long start = System.nanoTime(); // Début de l'import.
+    private long read; // Lignes lues.
+    private long inserted; // Comptes créés.
+    private long skipped; // Emails déjà présents.
+    private long rejected; // Lignes invalides.
+
+    UserImporter(ConnectionPool pool, int cost, Consumer<DatabaseService.ImportProgress> progress) { // Prépare un import.
+        this.pool = pool; // Mémorise le pool.
+        this.cost = cost; // Mémorise le coût.
+        this.progress = progress; // Mémorise le rappel.
+    }
+
+    DatabaseService.ImportProgress run(Reader csv) { // Lit email,pseudo,mot_de_passe ; hache le lot suivant pendant l'insertion du précédent.
+        ExecutorService hashers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()); // Un hachage par cœur.
+        try (BufferedReader in = new BufferedReader(csv)) { // Parcourt le flux.
+            List<Row> pending = null; // Lot en cours de hachage.
+            List<Row> batch; // Lot suivant.
+            while (!(batch = readBatch(in, hashers)).isEmpty()) { // Tant qu'il reste des lignes.
+                if (pending != null) { // Le lot précédent est prêt à être inséré.
+                    insert(pending); // Insertion pendant le hachage du lot courant.
+                }
+                pending = batch; // Le lot courant devient le suivant à insérer.
+            }
+            if (pending != null) { // Dernier lot.
+                insert(pending); // Insertion finale.
+            }
+        } catch (IOException e) { // Flux illisible.
+            throw new UncheckedIOException("import", e); // Propage l'erreur annotée ; les lots déjà validés restent.
+        } finally { // Libère les threads.
+            hashers.shutdownNow(); // Arrête le pool.
+        }
+        return snapshot(); // Bilan final.
+    }
+
+    private List<Row> readBatch(BufferedReader in, ExecutorService hashers) throws IOException { // Lit un lot et lance ses hachages.
+        List<Row> rows = new ArrayList<>(BATCH); // Lot en construction.
+        String line; // Ligne courante.
+        while (rows.size() < BATCH && (line = in.readLine()) != null) { // Jusqu'à remplir le lot.
+            if (line.isBlank() || (read == 0 && rows.isEmpty() && line.toLowerCase().startsWith("email,"))) { // Ligne vide ou en-tête.
+                continue; // Ignore.
+            }
+            read++; // Compte la ligne.
+            String[] f = line.split(",", 3); // Le mot de passe peut contenir des virgules.
+            if (f.length < 3 || !f[0].strip().matches("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$") || f[1].isBlank() || f[2].isEmpty()) { // Mêmes règles que l'inscription pour l'email.
+                rejected++; // Ligne invalide.
+                continue; // Passe à la suivante.
+            }
+            String raw = f[2]; // Mot de passe en clair.
+            rows.add(new Row(f[0].strip(), f[1].strip(), CompletableFuture.supplyAsync(() -> SecurityUtil.hashPwd(raw, cost), hashers))); // Hachage en parallèle.
+        }
+        return rows; // Retourne le lot.
+    }
+
+    private void insert(List<Row> rows) { // Insère un lot en une transaction (les triggers créent portefeuille et ligne INIT).
+        CompletableFuture.allOf(rows.stream().map(Row::hash).toArray(CompletableFuture[]::new)).join(); // Attend les hachages hors transaction : l'écrivain reste libre.
+        int[] counts = pool.transaction(connection -> { // Un seul commit pour tout le lot.
+            PreparedStatement ps = connection.prepare(SQL_INSERT); // Réutilise la requête compilée.
+            for (Row row : rows) { // Chaque compte.
+                ps.setString(1, row.email()); // Email.
+                ps.setString(2, row.pseudo()); // Pseudo.
+                ps.setString(3, row.hash().getNow(null)); // Hash déjà calculé : simple lecture.
+                ps.addBatch(); // Ajoute au lot JDBC.
+            }
+            return ps.executeBatch(); // Exécute le lot.
+        });
+        for (int count : counts) { // Bilan par ligne.
+            if (count > 0) { // Compte créé.
+                inserted++; // Compte l'insertion.
+            } else { // Email déjà présent.
+                skipped++; // Compte le doublon.
+            }
+        }
+        progress.accept(snapshot()); // Notifie la progression.
+    }
+
+    private DatabaseService.ImportProgress snapshot() { // Photographie des compteurs.
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000); // Durée écoulée.
+        return new DatabaseService.ImportProgress(read, inserted, skipped, rejected, millis, inserted * 1000.0 / millis); // Compteurs et débit.
+    }
+}
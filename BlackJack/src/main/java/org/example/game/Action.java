@@ -0,0 +1,8 @@
+package org.example.game; // Déclare le package métier du jeu.
+
+public enum Action { // Décisions possibles du joueur ; l'ordinal est le code stocké dans les tables.
+    STAND, // Rester.
+    HIT, // Tirer une carte.
+    DOUBLE, // Doubler la mise (réservé aux futures règles).
+    SPLIT // Séparer une paire (réservé aux futures règles).
+}
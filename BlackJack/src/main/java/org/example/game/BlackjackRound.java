@@ -1,25 +1,53 @@
 package org.example.game; // Déclare le package métier du blackjack.
 
+import java.util.Objects; // Importe Objects pour sécuriser les arguments non nuls.
+
 public final class BlackjackRound { // Classe centrale gérant une manche complète.
-    private Deck deck; // Pioche utilisée pour la manche en cours.
+    private final Shoe shoe; // Sabot partagé entre les manches.
     private final Hand dealer = new Hand(); // Main visible du croupier.
     private final Hand player = new Hand(); // Main du joueur.
     private Card hiddenCard; // Carte face cachée du croupier.
+    private ShoeSeed roundSeed; // Graine et position permettant de rejouer la manche.
     private boolean dealerRevealed; // Indique si la carte cachée est révélée.
     private boolean settled; // Indique si la manche est terminée.
 
+    public BlackjackRound() { // Constructeur utilisant un sabot standard.
+        this(new Shoe(Shoe.DEFAULT_DECKS)); // Délègue avec le nombre de paquets par défaut.
+    }
+
+    public BlackjackRound(Shoe shoe) { // Constructeur injectant un sabot existant.
+        this.shoe = Objects.requireNonNull(shoe, "shoe"); // Mémorise le sabot.
+    }
+
+    public Shoe shoe() { // Fournit le sabot utilisé par la manche.
+        return shoe; // Retourne la référence du sabot.
+    }
+
     public void start() { // Initialise une nouvelle manche.
-        deck = Deck.shuffled(); // Construit et mélange un nouveau paquet.
+        if (shoe.needsShuffle()) { // Remélange seulement lorsque la carte de coupe est atteinte.
+            shoe.shuffle(); // Mélange le sabot en place.
+        }
+        roundSeed = shoe.beginRound(); // Ouvre la manche et mémorise de quoi la rejouer.
         dealer.clear(); // Vide la main du croupier.
         player.clear(); // Vide la main du joueur.
-        hiddenCard = deck.draw(); // Tire la carte face cachée du croupier.
-        dealer.add(deck.draw()); // Ajoute la carte visible du croupier.
-        player.add(deck.draw()); // Ajoute la première carte du joueur.
-        player.add(deck.draw()); // Ajoute la deuxième carte du joueur.
+        hiddenCard = shoe.draw(); // Tire la carte face cachée du croupier.
+        dealer.add(shoe.draw()); // Ajoute la carte visible du croupier.
+        player.add(shoe.draw()); // Ajoute la première carte du joueur.
+        player.add(shoe.draw()); // Ajoute la deuxième carte du joueur.
         dealerRevealed = false; // Masque la carte cachée au début de manche.
         settled = false; // Marque la manche comme non terminée.
     }
 
+    public static BlackjackRound replay(ShoeSeed recorded) { // Rejoue la distribution initiale d'une manche enregistrée.
+        BlackjackRound round = new BlackjackRound(Shoe.replay(recorded)); // Construit la manche sur le sabot rejoué.
+        round.start(); // Redistribue les mêmes cartes dans le même ordre.
+        return round; // Les tirages suivants reproduisent aussi la manche d'origine.
+    }
+
+    public ShoeSeed roundSeed() { // Fournit la graine de la manche en cours.
+        return roundSeed; // Retourne la description enregistrable.
+    }
+
     public Hand dealerHand() { // Fournit la main visible du croupier.
         return dealer; // Retourne l'objet Hand pour consultation externe.
     }
@@ -46,7 +74,7 @@ public final class BlackjackRound { // Classe centrale gérant une manche compl
 
     public Card playerHit() { // Permet au joueur de tirer une carte.
         ensureOngoing(); // Vérifie que la manche n'est pas terminée.
-        Card drawn = deck.draw(); // Retire une carte du paquet.
+        Card drawn = shoe.draw(); // Retire une carte du sabot.
         player.add(drawn); // Ajoute la carte à la main du joueur.
         return drawn; // Retourne la carte tirée pour information.
     }
@@ -59,7 +87,7 @@ public final class BlackjackRound { // Classe centrale gérant une manche compl
     public void playDealerTurn() { // Fait jouer le croupier jusqu'à 17.
         revealDealer(); // Retourne la carte cachée.
         while (dealer.total(hiddenCard) < 17) { // Tant que le total du croupier est inférieur à 17.
-            dealer.add(deck.draw()); // Le croupier tire une carte supplémentaire.
+            dealer.add(shoe.draw()); // Le croupier tire une carte supplémentaire.
         }
     }
 
@@ -67,6 +95,17 @@ public final class BlackjackRound { // Classe centrale gérant une manche compl
         dealerRevealed = true; // Met à jour le drapeau d'affichage.
     }
 
+    public Action recommendedAction() { // Action conseillée par la stratégie de base pour la main courante.
+        return recommendedAction(StrategyAdvisor.standard()); // Utilise les tables livrées avec le jeu.
+    }
+
+    public Action recommendedAction(StrategyAdvisor advisor) { // Action conseillée par un jeu de tables donné.
+        if (settled || dealer.size() == 0) { // Aucune décision hors manche en cours.
+            return Action.STAND; // Valeur neutre.
+        }
+        return advisor.advise(player, dealer.cards().get(0)); // Consulte la table avec la carte visible du croupier.
+    }
+
     public int playerTotal() { // Calcule le total actuel du joueur.
         return player.total(); // Utilise Hand pour évaluer la main du joueur.
     }
@@ -90,51 +129,33 @@ public final class BlackjackRound { // Classe centrale gérant une manche compl
     public RoundOutcome settle(int bet) { // Termine la manche et calcule le résultat financier.
         ensureOngoing(); // Empêche une double résolution.
         revealDealer(); // Affiche la carte du croupier pour la fin de manche.
-        int playerScore = player.total(); // Calcule le score du joueur.
-        int dealerScore = dealer.total(hiddenCard); // Calcule le score complet du croupier.
-        boolean playerBJ = isPlayerNaturalBlackjack(); // Vérifie un blackjack naturel joueur.
-        boolean dealerBJ = isDealerNaturalBlackjack(); // Vérifie un blackjack naturel croupier.
+        settled = true; // Marque la manche comme terminée.
+        return resolve(player, dealer.total(hiddenCard), isDealerNaturalBlackjack(), bet); // Applique les règles de paiement.
+    }
 
-        String result; // Prépare l'étiquette de résultat.
-        int payout; // Prépare le montant à créditer.
-        String message; // Prépare le message utilisateur.
+    static RoundOutcome resolve(Hand player, int dealerScore, boolean dealerBJ, int bet) { // Règles de paiement partagées avec BlackjackTable.
+        int playerScore = player.total(); // Calcule le score du joueur.
+        boolean playerBJ = player.size() == 2 && playerScore == 21; // Vérifie un blackjack naturel joueur.
 
+        OutcomeReason reason; // Prépare la raison de l'issue.
         if (playerScore > 21) { // Cas où le joueur dépasse 21.
-            result = "LOSE"; // Le joueur perd.
-            payout = 0; // Aucun gain n'est versé.
-            message = "Tu as dépassé 21, tu as perdu"; // Message spécifique à la défaite par dépassement.
+            reason = OutcomeReason.PLAYER_BUST; // Défaite par dépassement.
         } else if (playerBJ && dealerBJ) { // Cas de double blackjack.
-            result = "PUSH"; // Manche nulle.
-            payout = bet; // Le joueur récupère sa mise.
-            message = "Égalité"; // Message neutre.
+            reason = OutcomeReason.BOTH_BLACKJACK; // Manche nulle.
         } else if (playerBJ) { // Blackjack joueur uniquement.
-            result = "WIN"; // Le joueur gagne.
-            payout = (int) Math.round(bet * 2.5); // Gain 3:2.
-            message = "Blackjack ! Tu as gagné"; // Message enthousiaste.
+            reason = OutcomeReason.PLAYER_BLACKJACK; // Gain 3:2.
         } else if (dealerBJ) { // Blackjack croupier uniquement.
-            result = "LOSE"; // Le joueur perd.
-            payout = 0; // Aucun gain.
-            message = "Le croupier a un blackjack, tu as perdu"; // Message explicite.
+            reason = OutcomeReason.DEALER_BLACKJACK; // Défaite.
         } else if (dealerScore > 21) { // Croupier dépasse 21.
-            result = "WIN"; // Le joueur gagne.
-            payout = bet * 2; // Gain standard.
-            message = "Tu as gagné"; // Message positif générique.
+            reason = OutcomeReason.DEALER_BUST; // Gain standard.
         } else if (playerScore == dealerScore) { // Totaux identiques.
-            result = "PUSH"; // Manche nulle.
-            payout = bet; // Retour de la mise.
-            message = "Égalité"; // Message neutre.
+            reason = OutcomeReason.EQUAL_TOTALS; // Manche nulle.
         } else if (playerScore > dealerScore) { // Joueur supérieur au croupier.
-            result = "WIN"; // Le joueur gagne.
-            payout = bet * 2; // Gain standard.
-            message = "Tu as gagné"; // Message positif.
+            reason = OutcomeReason.HIGHER_TOTAL; // Gain standard.
         } else { // Tous les autres cas.
-            result = "LOSE"; // Le joueur perd.
-            payout = 0; // Aucun gain.
-            message = "Tu as perdu"; // Message négatif générique.
+            reason = OutcomeReason.LOWER_TOTAL; // Défaite.
         }
-
-        settled = true; // Marque la manche comme terminée.
-        return new RoundOutcome(result, payout, message); // Retourne l'issue de la manche.
+        return new RoundOutcome(reason, reason.payout(bet)); // Retourne l'issue de la manche sans construire de message.
     }
 
     private void ensureOngoing() { // Vérifie que la manche est encore active.
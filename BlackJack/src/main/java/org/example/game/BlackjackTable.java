@@ -0,0 +1,165 @@
+package org.example.game; // Déclare le package métier du blackjack.
+
+import java.util.Objects; // Importe Objects pour sécuriser les arguments non nuls.
+
+public final class BlackjackTable { // Table multi-places : plusieurs mains contre un seul croupier et un seul sabot.
+    public static final int MAX_SEATS = 7; // Nombre maximal de places autour de la table.
+    private static final int PLAYER_BUDGET = 20; // Points qu'une place peut cumuler avant sa dernière carte.
+    private static final int DEALER_BUDGET = 16; // Points que le croupier peut cumuler avant sa dernière carte.
+
+    private final Shoe shoe; // Sabot partagé par toutes les places.
+    private final Hand dealer = new Hand(); // Main visible du croupier.
+    private final Hand[] seats = new Hand[MAX_SEATS]; // Mains des joueurs, réutilisées d'une manche à l'autre.
+    private final boolean[] done = new boolean[MAX_SEATS]; // Indique les places ayant fini de jouer.
+    private int seatCount; // Nombre de places actives pour la manche.
+    private Card hiddenCard; // Carte face cachée du croupier.
+    private ShoeSeed roundSeed; // Graine et position permettant de rejouer la manche.
+    private boolean dealerPlayed; // Indique si le croupier a joué.
+    private boolean settled; // Indique si la manche est terminée.
+
+    public BlackjackTable() { // Constructeur utilisant un sabot standard.
+        this(new Shoe(Shoe.DEFAULT_DECKS)); // Délègue avec le nombre de paquets par défaut.
+    }
+
+    public BlackjackTable(Shoe shoe) { // Constructeur injectant un sabot existant.
+        this.shoe = Objects.requireNonNull(shoe, "shoe"); // Mémorise le sabot.
+        for (int i = 0; i < MAX_SEATS; i++) { // Crée chaque main une seule fois.
+            seats[i] = new Hand(); // Main vide réutilisable.
+        }
+    }
+
+    public void start(int seatCount) { // Distribue une nouvelle manche à seatCount places.
+        if (seatCount < 1 || seatCount > MAX_SEATS) { // Valide le nombre de places.
+            throw new IllegalArgumentException("seatCount doit être entre 1 et " + MAX_SEATS); // Refuse les valeurs hors bornes.
+        }
+        if (shoe.needsShuffle() || shoe.remaining() < worstCaseCards(shoe.decks(), seatCount)) { // Coupe atteinte, ou pas assez de cartes pour finir la manche.
+            shoe.shuffle(); // Mélange le sabot en place avant de distribuer.
+        }
+        roundSeed = shoe.beginRound(); // Ouvre la manche et mémorise de quoi la rejouer.
+        this.seatCount = seatCount; // Mémorise le nombre de places actives.
+        dealer.clear(); // Vide la main du croupier.
+        for (int i = 0; i < seatCount; i++) { // Vide chaque main active.
+            seats[i].clear(); // Réinitialise la main.
+        }
+        hiddenCard = shoe.draw(); // Tire la carte face cachée du croupier.
+        dealer.add(shoe.draw()); // Ajoute la carte visible du croupier.
+        for (int round = 0; round < 2; round++) { // Deux tours de distribution.
+            for (int i = 0; i < seatCount; i++) { // Une carte par place à chaque tour.
+                seats[i].add(shoe.draw()); // Distribue la carte.
+            }
+        }
+        for (int i = 0; i < seatCount; i++) { // Ouvre chaque place.
+            done[i] = seats[i].total() == 21; // Un blackjack naturel n'a plus rien à jouer.
+        }
+        dealerPlayed = false; // Le croupier n'a pas encore joué.
+        settled = false; // Marque la manche comme non terminée.
+    }
+
+    static int worstCaseCards(int decks, int seatCount) { // Borne haute des cartes d'une manche : chaque main sous 21 avec les plus petites cartes du sabot, plus une dernière carte.
+        int budget = PLAYER_BUDGET * seatCount + DEALER_BUDGET; // Points cumulables avant les dernières cartes.
+        int cards = seatCount + 1; // Dernière carte de chaque main.
+        for (int points = 1; points <= 10 && budget > 0; points++) { // Des as vers les dix.
+            int available = (points == 10 ? 16 : 4) * decks; // Cartes de cette valeur dans le sabot.
+            int taken = Math.min(available, budget / points); // Autant que le budget le permet.
+            cards += taken; // Cumule les cartes.
+            budget -= taken * points; // Consomme le budget.
+        }
+        return cards; // Retourne la borne.
+    }
+
+    public int seatCount() { // Nombre de places actives.
+        return seatCount; // Retourne le nombre courant.
+    }
+
+    public Hand seatHand(int seat) { // Main d'une place active.
+        return seats[Objects.checkIndex(seat, seatCount)]; // Valide puis retourne la main.
+    }
+
+    public Hand dealerHand() { // Main visible du croupier.
+        return dealer; // Retourne la main.
+    }
+
+    public Card hiddenCard() { // Carte cachée du croupier.
+        return hiddenCard; // Retourne la carte.
+    }
+
+    public ShoeSeed roundSeed() { // Graine de la manche en cours.
+        return roundSeed; // Retourne la description enregistrable.
+    }
+
+    public Shoe shoe() { // Sabot partagé.
+        return shoe; // Retourne le sabot.
+    }
+
+    public boolean isSeatDone(int seat) { // Indique si une place a fini de jouer.
+        return done[Objects.checkIndex(seat, seatCount)]; // Retourne l'état de la place.
+    }
+
+    public Card hit(int seat) { // La place tire une carte.
+        ensurePlaying(seat); // Vérifie que la place peut encore jouer.
+        Card drawn = shoe.draw(); // Tire une carte du sabot partagé.
+        Hand hand = seats[seat]; // Récupère la main de la place.
+        hand.add(drawn); // Ajoute la carte.
+        if (hand.total() >= 21) { // 21 atteint ou dépassé.
+            done[seat] = true; // La place a terminé.
+        }
+        return drawn; // Retourne la carte tirée.
+    }
+
+    public void stand(int seat) { // La place reste.
+        ensurePlaying(seat); // Vérifie que la place peut encore jouer.
+        done[seat] = true; // Marque la place comme terminée.
+    }
+
+    public void playDealerTurn() { // Fait jouer le croupier une seule fois, quand toutes les places ont fini.
+        ensureOngoing(); // Vérifie que la manche est active.
+        if (dealerPlayed) { // Le croupier a déjà joué.
+            return; // Rien à refaire.
+        }
+        for (int i = 0; i < seatCount; i++) { // Vérifie chaque place.
+            if (!done[i]) { // Une place joue encore.
+                throw new IllegalStateException("Place " + i + " encore en jeu"); // Le croupier ne joue qu'en dernier.
+            }
+        }
+        while (dealer.total(hiddenCard) < 17) { // Tant que le total du croupier est inférieur à 17.
+            dealer.add(shoe.draw()); // Le croupier tire une carte supplémentaire.
+        }
+        dealerPlayed = true; // Marque le tour du croupier comme joué.
+    }
+
+    public RoundOutcome[] settleAll(int[] bets) { // Règle toutes les places en une passe, bets[i] étant la mise de la place i.
+        ensureOngoing(); // Empêche une double résolution.
+        if (bets.length < seatCount) { // Vérifie qu'une mise existe pour chaque place.
+            throw new IllegalArgumentException("Une mise par place est requise"); // Refuse un tableau incomplet.
+        }
+        playDealerTurn(); // Garantit que le croupier a joué (toutes les places ont fini).
+        int dealerScore = dealer.total(hiddenCard); // Score du croupier calculé une seule fois.
+        boolean dealerBJ = dealer.size() == 1 && dealerScore == 21; // Blackjack croupier calculé une seule fois.
+        RoundOutcome[] outcomes = new RoundOutcome[seatCount]; // Prépare les issues.
+        for (int i = 0; i < seatCount; i++) { // Règle chaque place.
+            outcomes[i] = BlackjackRound.resolve(seats[i], dealerScore, dealerBJ, bets[i]); // Applique les règles communes.
+        }
+        settled = true; // Marque la manche comme terminée.
+        return outcomes; // Retourne les issues.
+    }
+
+    public boolean isSettled() { // Indique si la manche est terminée.
+        return settled; // Retourne l'état courant.
+    }
+
+    private void ensurePlaying(int seat) { // Vérifie qu'une place peut encore agir.
+        ensureOngoing(); // Vérifie que la manche est active.
+        if (dealerPlayed) { // Le croupier a révélé sa main.
+            throw new IllegalStateException("Le croupier a déjà joué"); // Plus aucune action de place.
+        }
+        if (done[Objects.checkIndex(seat, seatCount)]) { // La place a déjà terminé.
+            throw new IllegalStateException("Place " + seat + " déjà terminée"); // Signale l'action invalide.
+        }
+    }
+
+    private void ensureOngoing() { // Vérifie que la manche est encore active.
+        if (settled) { // Teste l'état de résolution.
+            throw new IllegalStateException("Manche déjà terminée"); // Signale la double invocation.
+        }
+    }
+}
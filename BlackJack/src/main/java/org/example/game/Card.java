@@ -3,39 +3,107 @@ package org.example.game; // Déclare le package métier pour les éléments du
 import java.util.Objects; // Importe Objects pour sécuriser les arguments non nuls.
 
 public final class Card { // Définit la classe Card comme immuable pour représenter une carte.
-    private final String value; // Stocke la valeur de la carte (A, 2..10, J, Q, K).
-    private final String suit; // Stocke la couleur de la carte (D, H, S, C).
+    public static final int RANKS = 13; // Nombre de rangs (A, 2..10, J, Q, K).
+    public static final int SUITS = 4; // Nombre de couleurs (D, H, S, C).
+    public static final int COUNT = RANKS * SUITS; // Nombre total de cartes distinctes.
 
-    public Card(String value, String suit) { // Constructeur initialisant la carte avec valeur et couleur.
-        this.value = Objects.requireNonNull(value, "value"); // Vérifie et affecte la valeur.
-        this.suit = Objects.requireNonNull(suit, "suit"); // Vérifie et affecte la couleur.
+    private static final String[] VALUES = {"A","2","3","4","5","6","7","8","9","10","J","Q","K"}; // Libellés des rangs indexés par ordinal.
+    private static final String[] SUIT_CODES = {"D","H","S","C"}; // Libellés des couleurs indexés par ordinal.
+    private static final int[] POINTS = {11, 2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10}; // Table des points blackjack par rang.
+    private static final Card[] ALL = new Card[COUNT]; // Jeu canonique des 52 instances partagées.
+
+    static { // Construit une seule fois toutes les cartes possibles.
+        for (int suit = 0; suit < SUITS; suit++) { // Parcourt chaque couleur.
+            for (int rank = 0; rank < RANKS; rank++) { // Parcourt chaque rang.
+                ALL[suit * RANKS + rank] = new Card(rank, suit); // Enregistre la carte à son index compact.
+            }
+        }
+    }
+
+    private final byte rank; // Ordinal du rang (0 = as, 12 = roi).
+    private final byte suit; // Ordinal de la couleur.
+    private final int points; // Points précalculés depuis la table.
+    private final String imagePath; // Chemin de ressource précalculé.
+    private final String label; // Représentation texte précalculée.
+
+    private Card(int rank, int suit) { // Constructeur privé réservé au jeu canonique.
+        this.rank = (byte) rank; // Mémorise le rang.
+        this.suit = (byte) suit; // Mémorise la couleur.
+        this.points = POINTS[rank]; // Lit les points dans la table.
+        this.label = VALUES[rank] + "-" + SUIT_CODES[suit]; // Assemble le libellé une seule fois.
+        this.imagePath = "/card/" + label + ".png"; // Assemble le chemin standardisé une seule fois.
+    }
+
+    public static Card of(int rank, int suit) { // Fabrique retournant l'instance partagée d'un rang et d'une couleur.
+        Objects.checkIndex(rank, RANKS); // Valide l'ordinal du rang.
+        Objects.checkIndex(suit, SUITS); // Valide l'ordinal de la couleur.
+        return ALL[suit * RANKS + rank]; // Retourne la carte canonique.
+    }
+
+    public static Card of(String value, String suit) { // Fabrique acceptant les libellés historiques.
+        int r = indexOf(VALUES, Objects.requireNonNull(value, "value")); // Résout l'ordinal du rang.
+        int s = indexOf(SUIT_CODES, Objects.requireNonNull(suit, "suit")); // Résout l'ordinal de la couleur.
+        if (r < 0 || s < 0) { // Vérifie que les libellés sont connus.
+            throw new IllegalArgumentException("Carte inconnue: " + value + "-" + suit); // Signale la combinaison invalide.
+        }
+        return ALL[s * RANKS + r]; // Retourne la carte canonique.
+    }
+
+    public static Card byIndex(int index) { // Retourne la carte correspondant à un index compact 0..51.
+        return ALL[Objects.checkIndex(index, COUNT)]; // Valide puis lit le tableau canonique.
+    }
+
+    public static int pointsOfRank(int rank) { // Expose la table des points pour les calculs sans instance.
+        return POINTS[rank]; // Retourne les points du rang.
+    }
+
+    private static int indexOf(String[] table, String key) { // Recherche linéaire dans une petite table.
+        for (int i = 0; i < table.length; i++) { // Parcourt chaque entrée.
+            if (table[i].equals(key)) { // Compare le libellé.
+                return i; // Retourne l'index trouvé.
+            }
+        }
+        return -1; // Indique l'absence.
+    }
+
+    public int category() { // Catégorie de points 0..9 (0 = as, 9 = dix et figures).
+        return Math.min(rank, 9); // Regroupe 10, J, Q et K qui valent tous 10.
+    }
+
+    public int rank() { // Accesseur de l'ordinal du rang.
+        return rank; // Retourne le rang.
+    }
+
+    public int suitIndex() { // Accesseur de l'ordinal de la couleur.
+        return suit; // Retourne la couleur.
+    }
+
+    public int index() { // Index compact 0..51 de la carte.
+        return suit * RANKS + rank; // Calcule la position dans le jeu canonique.
     }
 
     public String value() { // Accesseur pour lire la valeur brute.
-        return value; // Retourne la valeur de la carte.
+        return VALUES[rank]; // Retourne le libellé du rang.
     }
 
     public String suit() { // Accesseur pour lire la couleur brute.
-        return suit; // Retourne la couleur de la carte.
+        return SUIT_CODES[suit]; // Retourne le libellé de la couleur.
     }
 
-    public int points() { // Calcule la valeur en points de la carte selon les règles du blackjack.
-        if ("AJQK".contains(value)) { // Détermine si la carte est une figure ou un as.
-            return "A".equals(value) ? 11 : 10; // Retourne 11 pour l'as, 10 pour les figures.
-        } // Termine la condition sur les figures.
-        return Integer.parseInt(value); // Convertit les valeurs numériques en entiers.
+    public int points() { // Retourne la valeur en points de la carte selon les règles du blackjack.
+        return points; // Lecture directe sans analyse de chaîne.
     }
 
     public boolean isAce() { // Indique si la carte est un as.
-        return "A".equals(value); // Vérifie l'égalité avec "A".
+        return rank == 0; // L'as occupe l'ordinal 0.
     }
 
-    public String imagePath() { // Construit le chemin de ressource de l'image PNG de la carte.
-        return "/card/" + value + "-" + suit + ".png"; // Assemble le chemin standardisé.
+    public String imagePath() { // Retourne le chemin de ressource de l'image PNG de la carte.
+        return imagePath; // Chemin précalculé à la construction.
     }
 
     @Override
     public String toString() { // Fournit une représentation texte utile pour le debug.
-        return value + "-" + suit; // Concatène valeur et couleur avec un tiret.
+        return label; // Libellé précalculé valeur-couleur.
     }
 }
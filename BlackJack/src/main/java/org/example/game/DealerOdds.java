@@ -0,0 +1,96 @@
+package org.example.game; // Déclare le package métier du jeu.
+
+import java.util.concurrent.ConcurrentHashMap; // Importe la table concurrente de mémorisation.
+
+public final class DealerOdds { // Calcule exactement la distribution des totaux finaux du croupier.
+    public static final int CATEGORIES = 10; // Catégories de points : as, 2..9, dix.
+    public static final int OUTCOMES = 7; // Nombre d'issues possibles du croupier.
+    public static final int BUST = 5; // Index de l'issue « dépasse 21 ».
+    public static final int BLACKJACK = 6; // Index de l'issue « blackjack naturel ».
+    // Les index 0 à 4 correspondent aux totaux 17 à 21 hors blackjack naturel.
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final ConcurrentHashMap<Long, double[]>[] memo = new ConcurrentHashMap[CATEGORIES]; // Mémorisation par carte visible puis composition.
+
+    public DealerOdds() { // Constructeur initialisant une table par carte visible.
+        for (int i = 0; i < CATEGORIES; i++) { // Parcourt chaque catégorie de carte visible.
+            memo[i] = new ConcurrentHashMap<>(); // Crée la table associée.
+        }
+    }
+
+    public double[] distribution(int[] counts, int upCategory) { // Distribution des issues ; le tableau retourné est partagé et ne doit pas être modifié.
+        return memo[upCategory].computeIfAbsent(key(counts), k -> compute(counts.clone(), upCategory)); // Calcule une seule fois par composition.
+    }
+
+    public double standEv(int[] counts, int upCategory, int playerTotal, boolean playerNatural) { // Espérance de gain par mise si le joueur reste.
+        if (playerTotal > 21) { // Le joueur a dépassé 21.
+            return -1; // Perte certaine de la mise.
+        }
+        double[] d = distribution(counts, upCategory); // Récupère la distribution du croupier.
+        if (playerNatural) { // Blackjack joueur : 3:2 sauf contre un blackjack croupier.
+            return 1.5 * (1 - d[BLACKJACK]); // Égalité contre blackjack, gain 3:2 sinon.
+        }
+        double ev = d[BUST] - d[BLACKJACK]; // Le croupier saute : gain ; blackjack croupier : perte.
+        for (int total = 17; total <= 21; total++) { // Compare aux totaux finaux du croupier.
+            double p = d[total - 17]; // Probabilité du total.
+            if (playerTotal > total) { // Le joueur est devant.
+                ev += p; // Gain de la mise.
+            } else if (playerTotal < total) { // Le joueur est derrière.
+                ev -= p; // Perte de la mise.
+            }
+        }
+        return ev; // Retourne l'espérance.
+    }
+
+    public static int[] unseenCounts(BlackjackRound round) { // Composition inconnue du joueur : sabot restant plus carte cachée.
+        int[] counts = new int[CATEGORIES]; // Prépare les compteurs.
+        round.shoe().countRemaining(counts); // Ajoute les cartes encore dans le sabot.
+        if (round.hasHiddenCard() && !round.isDealerRevealed()) { // La carte cachée reste inconnue.
+            counts[round.hiddenCard().category()]++; // La réintègre dans la composition.
+        }
+        return counts; // Retourne la composition.
+    }
+
+    public static long key(int[] counts) { // Clé compacte : 9 catégories sur 6 bits puis les dix sur 10 bits.
+        long key = 0; // Initialise la clé.
+        for (int i = 0; i < CATEGORIES - 1; i++) { // Catégories as à 9 (au plus 32 chacune pour 8 paquets).
+            key = (key << 6) | counts[i]; // Empile 6 bits.
+        }
+        return (key << 10) | counts[CATEGORIES - 1]; // Ajoute les dix (au plus 128) sur 10 bits.
+    }
+
+    private static double[] compute(int[] counts, int upCategory) { // Calcule la distribution par énumération exacte.
+        double[] out = new double[OUTCOMES]; // Prépare le résultat.
+        int total = 0; // Nombre de cartes restantes.
+        for (int c : counts) { // Parcourt les catégories.
+            total += c; // Cumule les cartes.
+        }
+        deal(points(upCategory), upCategory == 0, 1, counts, total, 1.0, out); // Démarre avec la carte visible seule.
+        return out; // Retourne la distribution.
+    }
+
+    private static void deal(int hard, boolean hasAce, int cards, int[] counts, int total, double p, double[] out) { // Explore récursivement les tirages du croupier.
+        int best = hasAce && hard + 10 <= 21 ? hard + 10 : hard; // Total effectif comme Hand.total().
+        if (best > 21) { // Le croupier dépasse 21.
+            out[BUST] += p; // Cumule la probabilité.
+            return; // Fin de la branche.
+        }
+        if (best >= 17) { // Le croupier reste à partir de 17 (y compris 17 souple), comme playDealerTurn().
+            out[cards == 2 && best == 21 ? BLACKJACK : best - 17] += p; // Cumule l'issue correspondante.
+            return; // Fin de la branche.
+        }
+        for (int c = 0; c < CATEGORIES; c++) { // Tire chaque catégorie possible.
+            int n = counts[c]; // Nombre de cartes de la catégorie.
+            if (n == 0) { // Catégorie épuisée.
+                continue; // Passe à la suivante.
+            }
+            counts[c] = n - 1; // Retire la carte de la composition.
+            deal(hard + points(c), hasAce || c == 0, cards + 1, counts, total - 1, p * n / total, out); // Poursuit avec la carte tirée.
+            counts[c] = n; // Restaure la composition.
+        }
+    }
+
+    private static int points(int category) { // Points durs d'une catégorie (as = 1).
+        return category + 1; // L'as vaut 1, puis 2..9, puis 10.
+    }
+}
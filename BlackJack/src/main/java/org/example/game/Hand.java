@@ -6,45 +6,69 @@ import java.util.List; // Importe List comme interface générique.
 
 public final class Hand { // Définit la classe Hand pour représenter une main de cartes.
     private final List<Card> cards = new ArrayList<>(); // Initialise la liste interne des cartes.
+    private final List<Card> view = Collections.unmodifiableList(cards); // Vue non modifiable créée une seule fois.
+    private int hardSum; // Somme courante en comptant chaque as pour 1.
+    private int aces; // Nombre d'as présents dans la main.
 
     public void clear() { // Vide complètement la main.
         cards.clear(); // Supprime toutes les cartes de la liste.
+        hardSum = 0; // Réinitialise la somme courante.
+        aces = 0; // Réinitialise le compteur d'as.
     }
 
     public void add(Card card) { // Ajoute une carte à la main.
         cards.add(card); // Empile la carte à la fin de la liste.
+        if (card.isAce()) { // Un as compte pour 1 dans la somme dure.
+            hardSum += 1; // Ajoute la valeur basse de l'as.
+            aces++; // Incrémente le compteur d'as.
+        } else { // Toute autre carte garde sa valeur fixe.
+            hardSum += card.points(); // Ajoute les points de la carte.
+        }
     }
 
     public List<Card> cards() { // Expose les cartes actuelles sans permettre la modification.
-        return Collections.unmodifiableList(cards); // Retourne une vue non modifiable de la liste.
+        return view; // Retourne la vue partagée sans allocation.
     }
 
     public int size() { // Donne le nombre de cartes actuellement dans la main.
         return cards.size(); // Retourne la taille de la liste interne.
     }
 
-    public int total(Card... extras) { // Calcule le total en incluant éventuellement des cartes supplémentaires.
-        int sum = 0; // Initialise l'agrégat de points.
-        int aces = 0; // Compte les as pour gérer leur valeur flexible.
-        for (Card card : cards) { // Parcourt chaque carte de la main.
-            sum += card.points(); // Ajoute les points de la carte.
-            if (card.isAce()) { // Vérifie si la carte est un as.
-                aces++; // Incrémente le compteur d'as.
-            }
-        }
-        for (Card extra : extras) { // Parcourt les cartes additionnelles.
-            if (extra == null) { // Ignore explicitement les références nulles.
-                continue; // Passe à l'itération suivante.
-            }
-            sum += extra.points(); // Ajoute les points de la carte additionnelle.
-            if (extra.isAce()) { // Vérifie si la carte additionnelle est un as.
-                aces++; // Incrémente le compteur d'as.
-            }
+    public int hardTotal() { // Total en comptant tous les as pour 1.
+        return hardSum; // Retourne la somme courante.
+    }
+
+    public int aceCount() { // Nombre d'as dans la main.
+        return aces; // Retourne le compteur courant.
+    }
+
+    public int total() { // Calcule le total optimisé en O(1).
+        return best(hardSum, aces); // Délègue au calcul commun.
+    }
+
+    public int total(Card extra) { // Calcule le total en incluant éventuellement une carte supplémentaire (carte cachée).
+        if (extra == null) { // Ignore explicitement les références nulles.
+            return total(); // Revient au total de la main seule.
         }
-        while (sum > 21 && aces > 0) { // Ajuste les as si la somme dépasse 21.
-            sum -= 10; // Décrémente de 10 pour convertir un as de 11 à 1.
-            aces--; // Réduit le compteur d'as restant.
+        return extra.isAce() ? best(hardSum + 1, aces + 1) : best(hardSum + extra.points(), aces); // Combine sans allocation.
+    }
+
+    public boolean isSoft() { // Indique si un as compte actuellement pour 11.
+        return soft(hardSum, aces); // Délègue au test commun.
+    }
+
+    public boolean isSoft(Card extra) { // Indique si la main est souple en incluant une carte supplémentaire.
+        if (extra == null) { // Ignore explicitement les références nulles.
+            return isSoft(); // Revient au test de la main seule.
         }
-        return sum; // Retourne le total optimisé.
+        return extra.isAce() ? soft(hardSum + 1, aces + 1) : soft(hardSum + extra.points(), aces); // Combine sans allocation.
+    }
+
+    private static int best(int hard, int aceCount) { // Retourne le meilleur total sans dépasser 21 si possible.
+        return soft(hard, aceCount) ? hard + 10 : hard; // Un seul as peut valoir 11 sans dépasser 21.
+    }
+
+    private static boolean soft(int hard, int aceCount) { // Teste si un as peut valoir 11.
+        return aceCount > 0 && hard + 10 <= 21; // Vérifie la présence d'un as et la marge de 10 points.
     }
 }
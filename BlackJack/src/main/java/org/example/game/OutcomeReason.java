@@ -0,0 +1,54 @@
+package org.example.game; // Déclare le package métier.
+
+import java.util.Locale; // Importe Locale pour choisir la langue des messages.
+import java.util.ResourceBundle; // Importe ResourceBundle pour la table de messages localisée.
+
+public enum OutcomeReason { // Raison d'une issue, avec son résultat et son multiplicateur de paiement.
+    PLAYER_BUST(RoundResult.LOSE, 0), // Le joueur dépasse 21.
+    BOTH_BLACKJACK(RoundResult.PUSH, 1), // Blackjack des deux côtés.
+    PLAYER_BLACKJACK(RoundResult.WIN, 2.5), // Blackjack joueur payé 3:2.
+    DEALER_BLACKJACK(RoundResult.LOSE, 0), // Blackjack croupier.
+    DEALER_BUST(RoundResult.WIN, 2), // Le croupier dépasse 21.
+    EQUAL_TOTALS(RoundResult.PUSH, 1), // Totaux identiques.
+    HIGHER_TOTAL(RoundResult.WIN, 2), // Joueur devant le croupier.
+    LOWER_TOTAL(RoundResult.LOSE, 0); // Joueur derrière le croupier.
+
+    public static final Locale DEFAULT_LOCALE = Locale.FRENCH; // Langue de l'interface.
+    private static final String BUNDLE = "i18n.outcomes"; // Table de messages dans les ressources.
+    private static final ResourceBundle.Control NO_FALLBACK =
+            ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES); // Retombe sur la table française, pas sur la langue du système.
+
+    private final RoundResult result; // Résultat associé.
+    private final double multiplier; // Paiement rapporté à la mise (mise rendue incluse).
+    private volatile String defaultMessage; // Message résolu paresseusement dans la langue par défaut.
+
+    OutcomeReason(RoundResult result, double multiplier) { // Constructeur de constante.
+        this.result = result; // Mémorise le résultat.
+        this.multiplier = multiplier; // Mémorise le multiplicateur.
+    }
+
+    public RoundResult result() { // Résultat de la raison.
+        return result; // Retourne le résultat.
+    }
+
+    public double multiplier() { // Multiplicateur appliqué à la mise.
+        return multiplier; // Retourne le multiplicateur.
+    }
+
+    public int payout(int bet) { // Montant crédité pour une mise donnée.
+        return (int) Math.round(bet * multiplier); // Arrondit comme l'ancien calcul 3:2.
+    }
+
+    public String message() { // Message dans la langue par défaut, résolu au premier appel.
+        String m = defaultMessage; // Lit le cache.
+        if (m == null) { // Premier accès.
+            m = message(DEFAULT_LOCALE); // Résout via la table.
+            defaultMessage = m; // Met en cache.
+        }
+        return m; // Retourne le message.
+    }
+
+    public String message(Locale locale) { // Message dans une langue donnée.
+        return ResourceBundle.getBundle(BUNDLE, locale, NO_FALLBACK).getString("outcome." + name()); // Cherche la clé dans la table localisée.
+    }
+}
@@ -1,4 +1,21 @@
 package org.example.game; // Déclare le package métier.
 
-public record RoundOutcome(String result, int payout, String message) { // Record immuable décrivant l'issue d'une manche.
+import java.util.Locale; // Importe Locale pour les messages localisés.
+
+public record RoundOutcome(OutcomeReason reason, int payout) { // Record immuable décrivant l'issue d'une manche.
+    public RoundResult result() { // Résultat typé de la manche.
+        return reason.result(); // Délègue à la raison.
+    }
+
+    public double multiplier() { // Multiplicateur de paiement appliqué à la mise.
+        return reason.multiplier(); // Délègue à la raison.
+    }
+
+    public String message() { // Message utilisateur, résolu seulement à l'affichage.
+        return reason.message(); // Délègue à la table de messages.
+    }
+
+    public String message(Locale locale) { // Message utilisateur dans une langue donnée.
+        return reason.message(locale); // Délègue à la table de messages.
+    }
 }
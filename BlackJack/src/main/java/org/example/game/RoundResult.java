@@ -0,0 +1,7 @@
+package org.example.game; // Déclare le package métier.
+
+public enum RoundResult { // Résultat typé d'une manche, stocké tel quel (name()) en base.
+    WIN, // Le joueur gagne.
+    LOSE, // Le joueur perd.
+    PUSH // Égalité, la mise est rendue.
+}
@@ -0,0 +1,142 @@
+package org.example.game; // Déclare le package métier du jeu.
+
+import java.security.SecureRandom; // Utilise SecureRandom pour tirer les graines en production.
+import java.util.Arrays; // Importe Arrays pour copier la défausse.
+import java.util.Objects; // Importe Objects pour sécuriser les arguments non nuls.
+import java.util.function.LongSupplier; // Importe LongSupplier comme source de graines.
+import java.util.random.RandomGenerator; // Importe l'interface commune des générateurs.
+
+public final class Shoe { // Sabot multi-paquets avec carte de coupe, réutilisé d'une manche à l'autre.
+    public static final int MIN_DECKS = 1; // Nombre minimal de paquets.
+    public static final int MAX_DECKS = 8; // Nombre maximal de paquets.
+    public static final int DEFAULT_DECKS = 6; // Nombre de paquets utilisé par défaut en table.
+    public static final double DEFAULT_PENETRATION = 0.75; // Proportion du sabot distribuée avant la coupe.
+
+    private final Card[] cards; // Tableau de cartes réutilisé à chaque mélange.
+    private final int decks; // Nombre de paquets dans le sabot.
+    private final int cutIndex; // Position de la carte de coupe.
+    private final ShuffleRng rng; // Stratégie de hasard utilisée pour chaque mélange.
+    private final LongSupplier seeds; // Source des graines de chaque sabot.
+    private long seed; // Graine du mélange courant.
+    private int position; // Index de la prochaine carte à distribuer.
+    private int roundStart; // Première carte de la manche en cours : celles d'avant forment la défausse.
+    private boolean recycled; // Défausse remélangée en cours de manche : mélange complet exigé avant la suivante.
+
+    public Shoe(int decks) { // Constructeur de production : graines cryptographiques.
+        this(decks, DEFAULT_PENETRATION, StandardRng.SECURE, new SecureRandom()::nextLong); // Délègue au constructeur complet.
+    }
+
+    public Shoe(int decks, double penetration, ShuffleRng rng, LongSupplier seeds) { // Constructeur complet.
+        if (decks < MIN_DECKS || decks > MAX_DECKS) { // Valide le nombre de paquets.
+            throw new IllegalArgumentException("decks doit être entre " + MIN_DECKS + " et " + MAX_DECKS); // Refuse les valeurs hors bornes.
+        }
+        if (!(penetration > 0 && penetration <= 1)) { // Valide la pénétration.
+            throw new IllegalArgumentException("penetration doit être dans ]0, 1]"); // Refuse les valeurs incohérentes.
+        }
+        this.decks = decks; // Mémorise le nombre de paquets.
+        this.rng = Objects.requireNonNull(rng, "rng"); // Mémorise la stratégie de hasard.
+        this.seeds = Objects.requireNonNull(seeds, "seeds"); // Mémorise la source de graines.
+        this.cards = new Card[decks * Card.COUNT]; // Alloue le tableau une seule fois.
+        this.cutIndex = (int) Math.round(cards.length * penetration); // Calcule la position de coupe.
+        shuffle(); // Mélange initialement le sabot.
+    }
+
+    public static Shoe replay(ShoeSeed recorded) { // Reconstruit un sabot enregistré, positionné au début de la manche.
+        long fixed = recorded.seed(); // Graine à réutiliser.
+        Shoe shoe = new Shoe(recorded.decks(), 1.0, recorded.rng(), () -> fixed); // Rejoue exactement le même mélange.
+        shoe.position = Objects.checkIndex(recorded.offset(), shoe.cards.length); // Avance jusqu'à la première carte de la manche.
+        shoe.roundStart = shoe.position; // Même défausse que la manche d'origine.
+        return shoe; // Retourne le sabot rejoué.
+    }
+
+    public void shuffle() { // Mélange le sabot avec une nouvelle graine.
+        reshuffle(seeds.getAsLong()); // Tire une graine et mélange.
+    }
+
+    private void reshuffle(long newSeed) { // Remet le sabot en ordre canonique puis le mélange (Fisher-Yates).
+        seed = newSeed; // Mémorise la graine pour l'enregistrement.
+        for (int i = 0; i < cards.length; i++) { // Replace l'ordre canonique pour que la graine suffise à rejouer.
+            cards[i] = Card.byIndex(i % Card.COUNT); // Réutilise les instances partagées.
+        }
+        RandomGenerator random = rng.create(newSeed); // Construit le générateur amorcé.
+        for (int i = cards.length - 1; i > 0; i--) { // Parcourt le tableau depuis la fin.
+            int j = random.nextInt(i + 1); // Choisit un index aléatoire dans [0, i].
+            Card tmp = cards[i]; // Sauvegarde la carte courante.
+            cards[i] = cards[j]; // Échange avec la carte tirée.
+            cards[j] = tmp; // Termine l'échange.
+        }
+        position = 0; // Replace la distribution en tête du sabot.
+        roundStart = 0; // Aucune défausse.
+        recycled = false; // Sabot complet.
+    }
+
+    public boolean needsShuffle() { // Indique si la carte de coupe a été atteinte.
+        return recycled || position >= cutIndex; // Compare la position à la coupe.
+    }
+
+    public ShoeSeed beginRound() { // Ouvre une manche : les cartes déjà distribuées passent à la défausse.
+        roundStart = position; // Les cartes de la manche seront distribuées à partir d'ici.
+        return snapshot(); // Retourne de quoi rejouer la manche.
+    }
+
+    public Card draw() { // Distribue la prochaine carte du sabot.
+        if (position >= cards.length) { // Sabot épuisé en cours de manche (cas extrême).
+            recycleDiscards(); // Remélange la défausse, jamais les cartes sur la table.
+        }
+        return cards[position++]; // Retourne la carte et avance la position.
+    }
+
+    private void recycleDiscards() { // Remélange les cartes des manches précédentes ; celles de la manche en cours restent hors du sabot.
+        if (roundStart == 0) { // La manche a consommé tout le sabot.
+            throw new IllegalStateException("Sabot épuisé pendant la manche (" + decks + " paquet(s))"); // Aucune carte ne peut revenir.
+        }
+        int onTable = cards.length - roundStart; // Cartes distribuées depuis le début de la manche.
+        Card[] discards = Arrays.copyOf(cards, roundStart); // Défausse dans l'ordre du sabot.
+        System.arraycopy(cards, roundStart, cards, 0, onTable); // Range les cartes de la table en tête, déjà distribuées.
+        System.arraycopy(discards, 0, cards, onTable, discards.length); // Replace la défausse derrière.
+        RandomGenerator random = rng.create(seed * 0x9E3779B97F4A7C15L + 1); // Graine dérivée de la précédente pour rester rejouable.
+        for (int i = cards.length - 1; i > onTable; i--) { // Fisher-Yates limité à la défausse.
+            int j = onTable + random.nextInt(i - onTable + 1); // Choisit un index dans [onTable, i].
+            Card tmp = cards[i]; // Sauvegarde la carte courante.
+            cards[i] = cards[j]; // Échange avec la carte tirée.
+            cards[j] = tmp; // Termine l'échange.
+        }
+        position = onTable; // La distribution reprend dans la défausse remélangée.
+        roundStart = 0; // Les cartes de la table restent comptées comme distribuées.
+        recycled = true; // Le sabot n'est plus décrit par sa seule graine : mélange complet à la prochaine manche.
+    }
+
+    public void countRemaining(int[] counts) { // Ajoute la composition restante par catégorie de points (10 cases).
+        for (int i = position; i < cards.length; i++) { // Parcourt les cartes non distribuées.
+            counts[cards[i].category()]++; // Incrémente la catégorie de la carte.
+        }
+    }
+
+    public ShoeSeed snapshot() { // Décrit la position courante pour un rejeu ultérieur.
+        return new ShoeSeed(rng, seed, decks, position); // Capture stratégie, graine, paquets et position.
+    }
+
+    public long seed() { // Graine du mélange courant.
+        return seed; // Retourne la graine.
+    }
+
+    public int remaining() { // Nombre de cartes restant avant épuisement.
+        return cards.length - position; // Différence entre taille et position.
+    }
+
+    public int dealt() { // Nombre de cartes distribuées depuis le dernier mélange.
+        return position; // Retourne la position courante.
+    }
+
+    public int size() { // Nombre total de cartes dans le sabot.
+        return cards.length; // Retourne la taille du tableau.
+    }
+
+    public int decks() { // Nombre de paquets du sabot.
+        return decks; // Retourne la configuration.
+    }
+
+    public int cutIndex() { // Position de la carte de coupe.
+        return cutIndex; // Retourne la position calculée.
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.game; // Déclare le package métier du jeu.
+
+import java.util.Objects; // Importe Objects pour sécuriser les arguments non nuls.
+
+public record ShoeSeed(ShuffleRng rng, long seed, int decks, int offset) { // Tout ce qu'il faut pour rejouer une manche.
+    public ShoeSeed { // Constructeur compact validant les champs.
+        Objects.requireNonNull(rng, "rng"); // Exige un générateur.
+    }
+
+    public String encode() { // Forme texte stockée dans session_jeu.seed_rng.
+        return rng.id() + ":" + Long.toUnsignedString(seed, 16) + ":" + decks + ":" + offset; // Format ALGO:graine:paquets:position.
+    }
+
+    public static ShoeSeed parse(String text) { // Relit une graine enregistrée.
+        String[] parts = Objects.requireNonNull(text, "text").split(":"); // Découpe les quatre champs.
+        if (parts.length != 4) { // Vérifie le format.
+            throw new IllegalArgumentException("seed_rng invalide: " + text); // Signale un format inattendu.
+        }
+        return new ShoeSeed(StandardRng.fromId(parts[0]), Long.parseUnsignedLong(parts[1], 16),
+                Integer.parseInt(parts[2]), Integer.parseInt(parts[3])); // Reconstruit le record.
+    }
+
+    public Shoe replayShoe() { // Reconstruit le sabot positionné au début de la manche.
+        return Shoe.replay(this); // Délègue au sabot.
+    }
+
+    public Card[] cards(int count) { // Retourne les count premières cartes distribuées pendant la manche.
+        Shoe shoe = replayShoe(); // Reconstruit le sabot.
+        Card[] sequence = new Card[count]; // Prépare le résultat.
+        for (int i = 0; i < count; i++) { // Tire les cartes dans l'ordre de distribution.
+            sequence[i] = shoe.draw(); // Enregistre chaque carte.
+        }
+        return sequence; // Retourne la séquence exacte.
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.game; // Déclare le package métier du jeu.
+
+import java.util.random.RandomGenerator; // Importe l'interface commune des générateurs Java.
+
+public interface ShuffleRng { // Stratégie de génération de hasard utilisée pour mélanger un sabot.
+    String id(); // Identifiant stable enregistré avec la graine (ex. SECURE).
+
+    RandomGenerator create(long seed); // Construit un générateur déterministe à partir d'une graine.
+}
@@ -0,0 +1,44 @@
+package org.example.game; // Déclare le package métier du jeu.
+
+import java.nio.ByteBuffer; // Importe ByteBuffer pour convertir la graine en octets.
+import java.security.NoSuchAlgorithmException; // Importe l'exception d'algorithme absent.
+import java.security.SecureRandom; // Importe SecureRandom pour la production.
+import java.util.SplittableRandom; // Importe SplittableRandom pour la simulation.
+import java.util.random.RandomGenerator; // Importe l'interface commune des générateurs.
+import java.util.random.RandomGeneratorFactory; // Importe la fabrique des générateurs LXM.
+
+public enum StandardRng implements ShuffleRng { // Générateurs fournis avec le jeu.
+    SECURE { // Générateur cryptographique pour les tables réelles.
+        @Override
+        public RandomGenerator create(long seed) { // Construit un SHA1PRNG rejouable.
+            try { // Tente d'obtenir l'implémentation déterministe.
+                SecureRandom random = SecureRandom.getInstance("SHA1PRNG"); // SHA1PRNG reste déterministe une fois amorcé.
+                random.setSeed(ByteBuffer.allocate(Long.BYTES).putLong(seed).array()); // Amorce avant tout tirage.
+                return random; // Retourne le générateur prêt.
+            } catch (NoSuchAlgorithmException e) { // Cas d'une JVM sans SHA1PRNG.
+                throw new IllegalStateException("SHA1PRNG indisponible", e); // Signale l'absence d'algorithme.
+            }
+        }
+    },
+    SPLITTABLE { // Générateur rapide pour la simulation.
+        @Override
+        public RandomGenerator create(long seed) { // Construit un SplittableRandom.
+            return new SplittableRandom(seed); // Retourne le générateur amorcé.
+        }
+    },
+    L64X128 { // Générateur LXM rapide et de bonne qualité statistique.
+        @Override
+        public RandomGenerator create(long seed) { // Construit un L64X128MixRandom.
+            return RandomGeneratorFactory.of("L64X128MixRandom").create(seed); // Retourne le générateur amorcé.
+        }
+    };
+
+    @Override
+    public String id() { // Identifiant enregistré en base.
+        return name(); // Réutilise le nom de la constante.
+    }
+
+    public static StandardRng fromId(String id) { // Retrouve un générateur depuis son identifiant.
+        return valueOf(id); // Délègue à l'énumération.
+    }
+}
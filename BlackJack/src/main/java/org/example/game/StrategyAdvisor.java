@@ -0,0 +1,66 @@
+package org.example.game; // Déclare le package métier du jeu.
+
+import java.io.DataInputStream; // Importe DataInputStream pour lire le format binaire.
+import java.io.IOException; // Importe IOException pour les erreurs de lecture.
+import java.io.InputStream; // Importe InputStream comme source générique.
+import java.io.UncheckedIOException; // Importe UncheckedIOException pour propager les erreurs.
+import java.util.Objects; // Importe Objects pour valider les ressources.
+
+public final class StrategyAdvisor { // Conseille l'action optimale à partir de tables précalculées.
+    public static final String RESOURCE = "/strategy/basic-strategy.bin"; // Ressource générée hors ligne.
+    public static final int MAGIC = 0x424A5354; // Signature « BJST » en tête de fichier.
+    public static final int VERSION = 1; // Version du format.
+    public static final int HARD_MIN = 4; // Premier total dur tabulé.
+    public static final int SOFT_MIN = 12; // Premier total souple tabulé.
+    public static final int HARD_ROWS = 21 - HARD_MIN + 1; // Lignes dures 4..21.
+    public static final int SOFT_ROWS = 21 - SOFT_MIN + 1; // Lignes souples 12..21.
+    public static final int COLUMNS = 10; // Colonnes : carte visible du croupier par catégorie (as, 2..9, dix).
+
+    private static final Action[] ACTIONS = Action.values(); // Cache des constantes pour éviter une copie par appel.
+
+    private final byte[] hard; // Table dense des totaux durs (ligne * COLUMNS + colonne).
+    private final byte[] soft; // Table dense des totaux souples.
+
+    private StrategyAdvisor(byte[] hard, byte[] soft) { // Constructeur privé : passer par load().
+        this.hard = hard; // Mémorise la table dure.
+        this.soft = soft; // Mémorise la table souple.
+    }
+
+    public static StrategyAdvisor standard() { // Retourne les tables livrées avec le jeu, chargées une seule fois.
+        return Holder.STANDARD; // Chargement paresseux et thread-safe.
+    }
+
+    public static StrategyAdvisor load(InputStream in) { // Lit des tables au format binaire.
+        try (DataInputStream data = new DataInputStream(in)) { // Enveloppe le flux.
+            if (data.readInt() != MAGIC || data.readUnsignedByte() != VERSION) { // Vérifie signature et version.
+                throw new IllegalStateException("Table de stratégie invalide"); // Refuse un fichier inattendu.
+            }
+            byte[] hard = new byte[HARD_ROWS * COLUMNS]; // Prépare la table dure.
+            byte[] soft = new byte[SOFT_ROWS * COLUMNS]; // Prépare la table souple.
+            data.readFully(hard); // Lit la table dure.
+            data.readFully(soft); // Lit la table souple.
+            return new StrategyAdvisor(hard, soft); // Retourne le conseiller prêt.
+        } catch (IOException e) { // Capture les erreurs de lecture.
+            throw new UncheckedIOException("strategy", e); // Propage l'erreur.
+        }
+    }
+
+    public Action advise(int total, boolean isSoft, int upCategory) { // Action optimale pour un total, une souplesse et une carte visible.
+        if (total >= 21) { // 21 ou plus : rien à gagner à tirer.
+            return Action.STAND; // Reste.
+        }
+        if (isSoft) { // Main souple.
+            return ACTIONS[soft[(Math.max(total, SOFT_MIN) - SOFT_MIN) * COLUMNS + upCategory]]; // Lecture directe dans la table souple.
+        }
+        return ACTIONS[hard[(Math.max(total, HARD_MIN) - HARD_MIN) * COLUMNS + upCategory]]; // Lecture directe dans la table dure.
+    }
+
+    public Action advise(Hand player, Card dealerUp) { // Action optimale pour une main et la carte visible du croupier.
+        return advise(player.total(), player.isSoft(), dealerUp.category()); // Lit les totaux maintenus par Hand.
+    }
+
+    private static final class Holder { // Porteur paresseux des tables standard.
+        static final StrategyAdvisor STANDARD = load(Objects.requireNonNull(
+                StrategyAdvisor.class.getResourceAsStream(RESOURCE), RESOURCE)); // Charge la ressource embarquée.
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.sim; // Déclare le package de simulation hors interface graphique.
+
+import org.example.game.BlackjackRound; // Importe la logique de manche réutilisée telle quelle.
+import org.example.game.OutcomeReason; // Importe les raisons d'issue.
+import org.example.game.RoundOutcome; // Importe l'issue de manche.
+import org.example.game.Shoe; // Importe le sabot.
+import org.example.game.StandardRng; // Importe les générateurs rapides.
+
+import java.util.Objects; // Importe Objects pour sécuriser les arguments non nuls.
+import java.util.SplittableRandom; // Importe SplittableRandom pour dériver les graines des tâches.
+import java.util.concurrent.ForkJoinPool; // Importe le pool fork-join.
+import java.util.concurrent.RecursiveTask; // Importe la tâche récursive fork-join.
+
+public final class MonteCarloSimulator { // Simule des manches en parallèle avec les règles de BlackjackRound.
+    private static final int BET = 2; // Mise simulée : 2 unités pour que le 3:2 reste entier.
+    private static final long LEAF_ROUNDS = 1 << 16; // Nombre de manches par tâche feuille.
+
+    private final int decks; // Nombre de paquets par sabot.
+    private final double penetration; // Pénétration de la carte de coupe.
+    private final PlayerPolicy policy; // Politique du joueur simulé.
+    private final long seed; // Graine maîtresse rendant la simulation reproductible.
+    private final ForkJoinPool pool; // Pool d'exécution.
+
+    public MonteCarloSimulator(int decks, double penetration, PlayerPolicy policy, long seed) { // Constructeur sur le pool commun.
+        this(decks, penetration, policy, seed, ForkJoinPool.commonPool()); // Délègue avec le pool commun.
+    }
+
+    public MonteCarloSimulator(int decks, double penetration, PlayerPolicy policy, long seed, ForkJoinPool pool) { // Constructeur complet.
+        this.decks = decks; // Mémorise le nombre de paquets.
+        this.penetration = penetration; // Mémorise la pénétration.
+        this.policy = Objects.requireNonNull(policy, "policy"); // Mémorise la politique.
+        this.seed = seed; // Mémorise la graine maîtresse.
+        this.pool = Objects.requireNonNull(pool, "pool"); // Mémorise le pool.
+    }
+
+    public SimulationReport run(long rounds) { // Lance la simulation et retourne le rapport.
+        if (rounds <= 0) { // Valide le nombre de manches.
+            throw new IllegalArgumentException("rounds > 0"); // Refuse les valeurs invalides.
+        }
+        long start = System.nanoTime(); // Démarre le chronomètre.
+        SimulationStats stats = pool.invoke(new Chunk(0, rounds)); // Répartit le travail sur tous les cœurs.
+        return SimulationReport.from(stats, System.nanoTime() - start); // Construit le rapport.
+    }
+
+    private final class Chunk extends RecursiveTask<SimulationStats> { // Tranche de manches découpée récursivement.
+        private static final long serialVersionUID = 1L; // Version de sérialisation.
+        private final long from; // Première manche de la tranche.
+        private final long to; // Fin exclusive de la tranche.
+
+        Chunk(long from, long to) { // Constructeur de tranche.
+            this.from = from; // Mémorise le début.
+            this.to = to; // Mémorise la fin.
+        }
+
+        @Override
+        protected SimulationStats compute() { // Découpe ou exécute la tranche.
+            if (to - from <= LEAF_ROUNDS) { // Tranche suffisamment petite.
+                return play(from, to - from); // Joue les manches sur ce thread.
+            }
+            long mid = (from + to) >>> 1; // Calcule le milieu.
+            Chunk left = new Chunk(from, mid); // Prépare la moitié gauche.
+            left.fork(); // Confie la moitié gauche à un autre worker.
+            SimulationStats right = new Chunk(mid, to).compute(); // Calcule la moitié droite ici.
+            return left.join().merge(right); // Fusionne les deux moitiés.
+        }
+    }
+
+    private SimulationStats play(long first, long count) { // Joue count manches avec un état propre à la tâche.
+        SplittableRandom seeds = new SplittableRandom(seed ^ (first * 0x9E3779B97F4A7C15L)); // Graines dérivées de la position : résultat indépendant du découpage des threads.
+        BlackjackRound round = new BlackjackRound(new Shoe(decks, penetration, StandardRng.SPLITTABLE, seeds::nextLong)); // Sabot, mains et hasard locaux.
+        SimulationStats stats = new SimulationStats(); // Compteurs locaux.
+        for (long i = 0; i < count; i++) { // Boucle sur les manches.
+            RoundOutcome outcome = playRound(round); // Joue une manche complète.
+            int net = outcome.payout() - BET; // Gain net en demi-mises.
+            stats.record(net); // Enregistre le gain.
+            if (outcome.reason() == OutcomeReason.PLAYER_BLACKJACK) { // Sépare les blackjacks payés 3:2.
+                stats.blackjacks++; // Compte un blackjack.
+            } else { // Autres issues.
+                switch (outcome.result()) { // Classe l'issue sans comparer de chaîne.
+                    case WIN -> stats.wins++; // Compte une victoire.
+                    case LOSE -> stats.losses++; // Compte une défaite.
+                    case PUSH -> stats.pushes++; // Compte une égalité.
+                }
+            }
+        }
+        return stats; // Retourne les compteurs de la tâche.
+    }
+
+    private RoundOutcome playRound(BlackjackRound round) { // Joue une manche comme AppFX le fait.
+        round.start(); // Distribue les cartes initiales.
+        if (round.isPlayerNaturalBlackjack()) { // Blackjack naturel : règlement immédiat.
+            return round.settle(BET); // Règle la manche.
+        }
+        while (round.playerTotal() < 21 && policy.hit(round.playerHand(), round.dealerHand().cards().get(0))) { // Le joueur tire selon sa politique.
+            round.playerHit(); // Ajoute une carte.
+        }
+        if (round.playerTotal() <= 21) { // Joueur sauté : perdu quoi que tire le croupier, inutile de jouer.
+            round.playDealerTurn(); // Le croupier joue jusqu'à 17.
+        }
+        return round.settle(BET); // Règle la manche.
+    }
+
+    public static void main(String[] args) { // Point d'entrée console : [manches] [paquets] [politique] [graine].
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L; // Nombre de manches.
+        int decks = args.length > 1 ? Integer.parseInt(args[1]) : Shoe.DEFAULT_DECKS; // Nombre de paquets.
+        String policy = args.length > 2 ? args[2] : "basic"; // Politique : « basic » ou un seuil numérique.
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime(); // Graine maîtresse.
+        PlayerPolicy player = "basic".equals(policy) ? PlayerPolicy.basicStrategy() : PlayerPolicy.standOn(Integer.parseInt(policy)); // Choisit la politique.
+        MonteCarloSimulator simulator = new MonteCarloSimulator(decks, Shoe.DEFAULT_PENETRATION, player, seed); // Configure le simulateur.
+        System.out.println(simulator.run(rounds).format()); // Affiche le rapport.
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.sim; // Déclare le package de simulation hors interface graphique.
+
+import org.example.game.Action; // Importe les actions conseillées.
+import org.example.game.Card; // Importe la représentation des cartes.
+import org.example.game.Hand; // Importe les mains du jeu.
+import org.example.game.StrategyAdvisor; // Importe le conseiller de stratégie de base.
+
+@FunctionalInterface
+public interface PlayerPolicy { // Décide si le joueur simulé tire une carte.
+    boolean hit(Hand player, Card dealerUp); // Retourne true pour tirer, false pour rester.
+
+    static PlayerPolicy standOn(int threshold) { // Politique simple : tire tant que le total est inférieur au seuil.
+        return (player, dealerUp) -> player.total() < threshold; // Compare le total courant au seuil.
+    }
+
+    static PlayerPolicy basicStrategy() { // Politique suivant les tables de stratégie de base.
+        StrategyAdvisor advisor = StrategyAdvisor.standard(); // Charge les tables une seule fois.
+        return (player, dealerUp) -> advisor.advise(player, dealerUp) == Action.HIT; // Tire si la table le conseille.
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.sim; // Déclare le package de simulation.
+
+public record SimulationReport(long rounds, double houseEdge, double variance, double houseEdgeError,
+                               double winRate, double blackjackRate, double lossRate, double pushRate,
+                               double roundsPerSecond) { // Résultat agrégé d'une simulation.
+    private static final double Z95 = 1.959963984540054; // Quantile normal pour un intervalle à 95 %.
+
+    static SimulationReport from(SimulationStats stats, long elapsedNanos) { // Construit le rapport à partir des compteurs.
+        double n = stats.rounds; // Nombre de manches en flottant.
+        double mean = stats.netUnits / 2.0 / n; // Gain moyen du joueur par mise.
+        double variance = stats.netSquares / 4.0 / n - mean * mean; // Variance par mise.
+        return new SimulationReport(stats.rounds, -mean, variance, Z95 * Math.sqrt(variance / n),
+                stats.wins / n, stats.blackjacks / n, stats.losses / n, stats.pushes / n,
+                n * 1e9 / Math.max(1, elapsedNanos)); // Assemble les indicateurs.
+    }
+
+    public double rateError(double rate) { // Demi-largeur de l'intervalle à 95 % d'une fréquence.
+        return Z95 * Math.sqrt(rate * (1 - rate) / rounds); // Approximation normale de la loi binomiale.
+    }
+
+    public String format() { // Rend un résumé lisible en console.
+        return String.format(java.util.Locale.ROOT,
+                "manches=%d  avantage maison=%.4f%% ± %.4f%%  variance=%.4f%n" +
+                "victoires=%.4f%% ± %.4f%%  blackjacks=%.4f%% ± %.4f%%  défaites=%.4f%% ± %.4f%%  égalités=%.4f%% ± %.4f%%%n" +
+                "débit=%.0f manches/s",
+                rounds, houseEdge * 100, houseEdgeError * 100, variance,
+                winRate * 100, rateError(winRate) * 100, blackjackRate * 100, rateError(blackjackRate) * 100,
+                lossRate * 100, rateError(lossRate) * 100, pushRate * 100, rateError(pushRate) * 100,
+                roundsPerSecond); // Formate chaque indicateur avec son intervalle.
+    }
+}
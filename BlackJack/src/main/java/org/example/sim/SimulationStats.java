@@ -0,0 +1,28 @@
+package org.example.sim; // Déclare le package de simulation.
+
+final class SimulationStats { // Accumulateur mutable propre à une tâche, fusionné en fin de calcul.
+    long rounds; // Nombre de manches jouées.
+    long wins; // Nombre de victoires (hors blackjack).
+    long blackjacks; // Nombre de blackjacks payés 3:2.
+    long losses; // Nombre de défaites.
+    long pushes; // Nombre d'égalités.
+    long netUnits; // Somme des gains nets en demi-mises.
+    long netSquares; // Somme des carrés des gains nets en demi-mises.
+
+    void record(long net) { // Enregistre le gain net d'une manche (en demi-mises).
+        rounds++; // Compte la manche.
+        netUnits += net; // Cumule le gain net.
+        netSquares += net * net; // Cumule le carré pour la variance.
+    }
+
+    SimulationStats merge(SimulationStats other) { // Fusionne les compteurs d'une autre tâche.
+        rounds += other.rounds; // Additionne les manches.
+        wins += other.wins; // Additionne les victoires.
+        blackjacks += other.blackjacks; // Additionne les blackjacks.
+        losses += other.losses; // Additionne les défaites.
+        pushes += other.pushes; // Additionne les égalités.
+        netUnits += other.netUnits; // Additionne les gains nets.
+        netSquares += other.netSquares; // Additionne les carrés.
+        return this; // Retourne l'accumulateur fusionné.
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.sim; // Déclare le package des outils hors interface graphique.
+
+import org.example.game.Action; // Importe les actions du joueur.
+import org.example.game.DealerOdds; // Importe le calcul exact des issues du croupier.
+import org.example.game.Shoe; // Importe la configuration du sabot.
+import org.example.game.StrategyAdvisor; // Importe le format des tables.
+
+import java.io.DataOutputStream; // Importe DataOutputStream pour écrire le format binaire.
+import java.io.IOException; // Importe IOException pour les erreurs d'écriture.
+import java.nio.file.Files; // Importe Files pour créer le fichier.
+import java.nio.file.Path; // Importe Path pour représenter la destination.
+
+public final class StrategyTableGenerator { // Outil hors ligne produisant la ressource de stratégie de base.
+    private final DealerOdds odds = new DealerOdds(); // Calculateur exact des issues du croupier.
+    private final int[] counts; // Composition du sabot privée de la carte visible.
+    private final int up; // Catégorie de la carte visible.
+    private final double[][] hitMemo = new double[32][2]; // Mémorisation de l'espérance en tirant (total dur, as présent).
+    private final boolean[][] hitKnown = new boolean[32][2]; // Indique les entrées déjà calculées.
+
+    private StrategyTableGenerator(int decks, int up) { // Prépare le calcul pour une carte visible.
+        this.up = up; // Mémorise la carte visible.
+        this.counts = new int[DealerOdds.CATEGORIES]; // Prépare la composition.
+        for (int c = 0; c < DealerOdds.CATEGORIES; c++) { // Remplit chaque catégorie.
+            counts[c] = decks * (c == DealerOdds.CATEGORIES - 1 ? 16 : 4); // 16 cartes à dix par paquet, 4 sinon.
+        }
+        counts[up]--; // Retire la carte visible du croupier.
+    }
+
+    private double standEv(int total) { // Espérance en restant sur un total.
+        return odds.standEv(counts, up, total, false); // Délègue au calcul exact.
+    }
+
+    private double hitEv(int hard, boolean ace) { // Espérance en tirant puis en jouant au mieux.
+        int a = ace ? 1 : 0; // Index de la souplesse.
+        if (hitKnown[hard][a]) { // Valeur déjà connue.
+            return hitMemo[hard][a]; // Retourne la valeur mémorisée.
+        }
+        int total = 0; // Nombre de cartes de la composition.
+        for (int n : counts) { // Parcourt les catégories.
+            total += n; // Cumule.
+        }
+        double ev = 0; // Accumulateur.
+        for (int c = 0; c < DealerOdds.CATEGORIES; c++) { // Tire chaque catégorie.
+            ev += (double) counts[c] / total * bestEv(hard + c + 1, ace || c == 0); // Pondère par la probabilité de tirage.
+        }
+        hitKnown[hard][a] = true; // Marque la valeur comme calculée.
+        hitMemo[hard][a] = ev; // Mémorise la valeur.
+        return ev; // Retourne l'espérance.
+    }
+
+    private double bestEv(int hard, boolean ace) { // Meilleure espérance entre rester et tirer.
+        int total = ace && hard + 10 <= 21 ? hard + 10 : hard; // Total effectif.
+        if (total > 21) { // Dépassement.
+            return -1; // Perte de la mise.
+        }
+        double stand = standEv(total); // Espérance en restant.
+        return total == 21 ? stand : Math.max(stand, hitEv(hard, ace)); // Compare avec l'option de tirer.
+    }
+
+    private Action decide(int hard, boolean ace) { // Décision optimale pour une main.
+        int total = ace && hard + 10 <= 21 ? hard + 10 : hard; // Total effectif.
+        return hitEv(hard, ace) > standEv(total) ? Action.HIT : Action.STAND; // Choisit l'espérance la plus forte.
+    }
+
+    public static void main(String[] args) throws IOException { // Point d'entrée : [fichier] [paquets].
+        Path out = Path.of(args.length > 0 ? args[0] : "src/main/resources" + StrategyAdvisor.RESOURCE); // Destination de la ressource.
+        int decks = args.length > 1 ? Integer.parseInt(args[1]) : Shoe.DEFAULT_DECKS; // Nombre de paquets.
+        byte[] hard = new byte[StrategyAdvisor.HARD_ROWS * StrategyAdvisor.COLUMNS]; // Table dure.
+        byte[] soft = new byte[StrategyAdvisor.SOFT_ROWS * StrategyAdvisor.COLUMNS]; // Table souple.
+        for (int up = 0; up < StrategyAdvisor.COLUMNS; up++) { // Parcourt chaque carte visible.
+            StrategyTableGenerator gen = new StrategyTableGenerator(decks, up); // Calculateur dédié.
+            for (int row = 0; row < StrategyAdvisor.HARD_ROWS; row++) { // Totaux durs 4..21.
+                hard[row * StrategyAdvisor.COLUMNS + up] = (byte) gen.decide(StrategyAdvisor.HARD_MIN + row, false).ordinal(); // Encode l'action.
+            }
+            for (int row = 0; row < StrategyAdvisor.SOFT_ROWS; row++) { // Totaux souples 12..21 (dur = total - 10).
+                soft[row * StrategyAdvisor.COLUMNS + up] = (byte) gen.decide(StrategyAdvisor.SOFT_MIN + row - 10, true).ordinal(); // Encode l'action.
+            }
+        }
+        Files.createDirectories(out.toAbsolutePath().getParent()); // Crée le dossier cible.
+        try (DataOutputStream data = new DataOutputStream(Files.newOutputStream(out))) { // Ouvre le fichier.
+            data.writeInt(StrategyAdvisor.MAGIC); // Écrit la signature.
+            data.writeByte(StrategyAdvisor.VERSION); // Écrit la version.
+            data.write(hard); // Écrit la table dure.
+            data.write(soft); // Écrit la table souple.
+        }
+        System.out.println("Table écrite : " + out + " (" + Files.size(out) + " octets)"); // Confirme la génération.
+    }
+}
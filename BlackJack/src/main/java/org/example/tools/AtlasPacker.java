@@ -0,0 +1,117 @@
+package org.example.tools; // Déclare le package des outils de build.
+
+import org.example.game.Card; // Importe Card pour énumérer les 52 recto.
+
+import javax.imageio.ImageIO; // Importe ImageIO pour lire et écrire les PNG.
+import java.awt.AlphaComposite; // Importe AlphaComposite pour copier la transparence telle quelle.
+import java.awt.Graphics2D; // Importe Graphics2D pour composer l'atlas.
+import java.awt.RenderingHints; // Importe RenderingHints pour un rééchantillonnage de qualité.
+import java.awt.image.BufferedImage; // Importe BufferedImage pour les images en mémoire.
+import java.io.BufferedWriter; // Importe BufferedWriter pour écrire l'index.
+import java.io.IOException; // Importe IOException pour les erreurs de fichiers.
+import java.nio.charset.StandardCharsets; // Importe l'encodage de l'index.
+import java.nio.file.Files; // Importe Files pour les accès disque.
+import java.nio.file.Path; // Importe Path pour les chemins.
+import java.util.ArrayList; // Importe ArrayList pour la liste des sprites.
+import java.util.List; // Importe List pour manipuler la liste.
+
+public final class AtlasPacker { // Outil de build regroupant les visuels des cartes dans un atlas par résolution.
+    static final int CARD_W = 110; // Largeur logique d'une carte (celle de GameRenderer).
+    static final int CARD_H = 160; // Hauteur logique d'une carte.
+    static final int TABLE_W = 640; // Largeur logique du tapis (taille du canvas de jeu).
+    static final int TABLE_H = 520; // Hauteur logique du tapis.
+    static final int GUTTER = 2; // Marge entre sprites : évite que le lissage déborde sur le voisin.
+    static final int[] SCALES = {1, 2}; // Résolutions produites : standard et HiDPI.
+    static final String INDEX = "atlas.idx"; // Nom du fichier d'index.
+    static final String TABLE = "tapis.png"; // Fond du tapis.
+    static final String BACK = "card/BACK.png"; // Dos de carte.
+
+    private record Sprite(String name, Path source, int x, int y, int w, int h) {} // Emplacement logique (1x) d'un visuel.
+
+    private AtlasPacker() { // Classe utilitaire non instanciable.
+    }
+
+    public static void main(String[] args) throws IOException { // Point d'entrée : [ressources] [dossier de sortie].
+        Path resources = Path.of(args.length > 0 ? args[0] : "src/main/resources"); // Racine des visuels sources.
+        Path out = Path.of(args.length > 1 ? args[1] : "target/classes/atlas"); // Dossier de l'atlas généré.
+        List<Sprite> sprites = layout(resources); // Calcule la disposition.
+        int width = 0; // Largeur logique de l'atlas.
+        int height = 0; // Hauteur logique de l'atlas.
+        for (Sprite s : sprites) { // Parcourt les sprites.
+            width = Math.max(width, s.x() + s.w()); // Étend la largeur.
+            height = Math.max(height, s.y() + s.h()); // Étend la hauteur.
+        }
+
+        Files.createDirectories(out); // Crée le dossier cible.
+        for (int scale : SCALES) { // Produit chaque résolution.
+            BufferedImage atlas = new BufferedImage(width * scale, height * scale, BufferedImage.TYPE_INT_ARGB); // Atlas transparent.
+            Graphics2D g = atlas.createGraphics(); // Contexte de composition.
+            g.setComposite(AlphaComposite.Src); // Copie les pixels sans mélange.
+            for (Sprite s : sprites) { // Place chaque visuel.
+                BufferedImage src = ImageIO.read(s.source().toFile()); // Décode le PNG source.
+                if (src == null) { // Format illisible.
+                    throw new IOException("Image illisible: " + s.source()); // Interrompt le build.
+                }
+                g.drawImage(resize(src, s.w() * scale, s.h() * scale), s.x() * scale, s.y() * scale, null); // Copie à la taille finale.
+            }
+            g.dispose(); // Libère le contexte.
+            ImageIO.write(atlas, "png", out.resolve("atlas@" + scale + "x.png").toFile()); // Écrit l'atlas.
+        }
+        writeIndex(out.resolve(INDEX), sprites); // Écrit l'index commun à toutes les résolutions.
+        System.out.println("Atlas écrit : " + out + " (" + sprites.size() + " sprites, " + width + "x" + height + ")"); // Confirme la génération.
+    }
+
+    private static List<Sprite> layout(Path resources) throws IOException { // Dispose les cartes en grille puis le tapis dessous.
+        List<Sprite> sprites = new ArrayList<>(); // Sprites à placer.
+        int cellW = CARD_W + GUTTER; // Pas horizontal de la grille.
+        int cellH = CARD_H + GUTTER; // Pas vertical de la grille.
+        for (int i = 0; i < Card.COUNT; i++) { // Une ligne par couleur, une colonne par rang.
+            Card card = Card.byIndex(i); // Carte canonique.
+            Path source = required(resources, card.imagePath().substring(1)); // PNG de la carte.
+            sprites.add(new Sprite(card.toString(), source, card.rank() * cellW, card.suitIndex() * cellH, CARD_W, CARD_H)); // Case de la grille.
+        }
+        int y = Card.SUITS * cellH; // Ligne sous les quatre couleurs.
+        sprites.add(new Sprite("BACK", required(resources, BACK), 0, y, CARD_W, CARD_H)); // Dos de carte.
+        sprites.add(new Sprite("TABLE", required(resources, TABLE), 0, y + cellH, TABLE_W, TABLE_H)); // Tapis sous la ligne du dos.
+        return sprites; // Retourne la disposition.
+    }
+
+    private static Path required(Path resources, String name) throws IOException { // Résout un visuel obligatoire.
+        Path path = resources.resolve(name); // Chemin dans les ressources.
+        if (!Files.isRegularFile(path)) { // Visuel manquant.
+            throw new IOException("Visuel manquant: " + path); // Interrompt le build.
+        }
+        return path; // Retourne le chemin.
+    }
+
+    private static BufferedImage resize(BufferedImage src, int w, int h) { // Réduit par moitiés successives puis ajuste en bicubique.
+        BufferedImage img = src; // Image courante.
+        int cw = src.getWidth(); // Largeur courante.
+        int ch = src.getHeight(); // Hauteur courante.
+        do { // Un seul bicubique de 500 à 110 pixels crénelerait les traits fins.
+            cw = Math.max(w, cw / 2); // Divise la largeur sans passer sous la cible.
+            ch = Math.max(h, ch / 2); // Divise la hauteur sans passer sous la cible.
+            if (cw < w * 2 && ch < h * 2) { // Dernière étape : taille exacte.
+                cw = w; // Largeur finale.
+                ch = h; // Hauteur finale.
+            }
+            BufferedImage step = new BufferedImage(cw, ch, BufferedImage.TYPE_INT_ARGB); // Étape intermédiaire.
+            Graphics2D g = step.createGraphics(); // Contexte de l'étape.
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC); // Interpolation bicubique.
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY); // Privilégie la qualité.
+            g.drawImage(img, 0, 0, cw, ch, null); // Rééchantillonne.
+            g.dispose(); // Libère le contexte.
+            img = step; // Passe à l'étape suivante.
+        } while (cw != w || ch != h); // Jusqu'à la taille cible.
+        return img; // Retourne l'image redimensionnée.
+    }
+
+    private static void writeIndex(Path file, List<Sprite> sprites) throws IOException { // Écrit l'index texte des sprites.
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) { // Ouvre l'index.
+            out.write("# nom x y largeur hauteur (unités 1x, multiplier par l'échelle de l'atlas)\n"); // En-tête explicatif.
+            for (Sprite s : sprites) { // Une ligne par sprite.
+                out.write(s.name() + ' ' + s.x() + ' ' + s.y() + ' ' + s.w() + ' ' + s.h() + '\n'); // Ligne séparée par des espaces.
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.ui; // Déclare le package dédié à l'affichage.
+
+import javafx.scene.canvas.GraphicsContext; // Importe GraphicsContext pour dessiner les sprites.
+import javafx.scene.image.Image; // Importe Image pour la texture de l'atlas.
+import org.example.game.Card; // Importe Card pour indexer les recto.
+
+import java.io.BufferedReader; // Importe BufferedReader pour lire l'index.
+import java.io.IOException; // Importe IOException pour les erreurs de lecture.
+import java.io.InputStream; // Importe InputStream pour ouvrir les ressources.
+import java.io.InputStreamReader; // Importe InputStreamReader pour décoder l'index.
+import java.nio.charset.StandardCharsets; // Importe l'encodage de l'index.
+
+final class CardAtlas { // Atlas des cartes généré au build par AtlasPacker (une texture par résolution).
+    private static final String INDEX = "/atlas/atlas.idx"; // Index commun aux résolutions.
+    private static final String IMAGE = "/atlas/atlas@%dx.png"; // Texture pour une échelle donnée.
+
+    private record Region(double x, double y, double w, double h) {} // Rectangle d'un sprite en unités 1x.
+
+    private final Image image; // Texture décodée une seule fois.
+    private final int scale; // Échelle de la texture (1 ou 2).
+    private final Region[] faces = new Region[Card.COUNT]; // Recto indexés par Card.index().
+    private Region back; // Dos de carte.
+    private Region table; // Fond du tapis.
+
+    private CardAtlas(Image image, int scale) { // Constructeur réservé au chargement.
+        this.image = image; // Mémorise la texture.
+        this.scale = scale; // Mémorise l'échelle.
+    }
+
+    static CardAtlas load(double outputScale) { // Charge l'atlas adapté à l'écran, ou null s'il n'a pas été généré.
+        int scale = outputScale > 1 ? 2 : 1; // Texture HiDPI dès que l'écran agrandit.
+        Image image = decode(String.format(IMAGE, scale)); // Tente la résolution voulue.
+        if (image == null && scale > 1) { // Pas de texture 2x.
+            scale = 1; // Se rabat sur la 1x.
+            image = decode(String.format(IMAGE, scale)); // Tente la 1x.
+        }
+        if (image == null) { // Build sans atlas (lancement depuis l'IDE).
+            return null; // L'appelant charge les PNG séparés.
+        }
+        CardAtlas atlas = new CardAtlas(image, scale); // Prépare l'atlas.
+        try (InputStream in = CardAtlas.class.getResourceAsStream(INDEX)) { // Ouvre l'index.
+            if (in == null) { // Texture sans index.
+                return null; // Atlas inutilisable.
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)); // Lecteur de lignes.
+            String line; // Ligne courante.
+            while ((line = reader.readLine()) != null) { // Parcourt l'index.
+                if (!line.isBlank() && line.charAt(0) != '#') { // Ignore commentaires et lignes vides.
+                    atlas.register(line.trim().split(" ")); // Enregistre le sprite.
+                }
+            }
+        } catch (IOException e) { // Lecture impossible.
+            throw new RuntimeException("Lecture index atlas", e); // Remonte l'erreur.
+        }
+        for (Region face : atlas.faces) { // Vérifie que le jeu est complet.
+            if (face == null) { // Carte absente de l'index.
+                return null; // Atlas incomplet : PNG séparés.
+            }
+        }
+        return atlas; // Retourne l'atlas prêt.
+    }
+
+    private void register(String[] f) { // Enregistre une ligne « nom x y largeur hauteur ».
+        Region r = new Region(Double.parseDouble(f[1]), Double.parseDouble(f[2]), Double.parseDouble(f[3]), Double.parseDouble(f[4])); // Rectangle 1x.
+        switch (f[0]) { // Aiguille selon le nom.
+            case "BACK" -> back = r; // Dos de carte.
+            case "TABLE" -> table = r; // Fond du tapis.
+            default -> { // Recto « valeur-couleur ».
+                int dash = f[0].lastIndexOf('-'); // Séparateur du libellé.
+                faces[Card.of(f[0].substring(0, dash), f[0].substring(dash + 1)).index()] = r; // Range à l'index de la carte.
+            }
+        }
+    }
+
+    void drawFace(GraphicsContext g, Card card, double x, double y, double w, double h) { // Dessine un recto.
+        draw(g, faces[card.index()], x, y, w, h); // Copie le sous-rectangle.
+    }
+
+    boolean drawBack(GraphicsContext g, double x, double y, double w, double h) { // Dessine le dos s'il est présent.
+        return draw(g, back, x, y, w, h); // Copie le sous-rectangle.
+    }
+
+    boolean drawTable(GraphicsContext g, double w, double h) { // Dessine le tapis s'il est présent.
+        return draw(g, table, 0, 0, w, h); // Copie le sous-rectangle sur toute la surface.
+    }
+
+    private boolean draw(GraphicsContext g, Region r, double x, double y, double w, double h) { // Copie un sprite vers le canvas.
+        if (r == null) { // Sprite absent de l'atlas.
+            return false; // L'appelant dessine son remplacement.
+        }
+        g.drawImage(image, r.x() * scale, r.y() * scale, r.w() * scale, r.h() * scale, x, y, w, h); // Source en pixels de la texture.
+        return true; // Sprite dessiné.
+    }
+
+    private static Image decode(String path) { // Décode une texture sans rééchantillonnage.
+        try (InputStream in = CardAtlas.class.getResourceAsStream(path)) { // Ouvre la ressource.
+            if (in == null) { // Ressource absente.
+                return null; // Laisse l'appelant se rabattre.
+            }
+            Image img = new Image(in); // Décode à la taille native.
+            return img.isError() ? null : img; // Ignore un PNG corrompu.
+        } catch (IOException e) { // Fermeture du flux en échec.
+            throw new RuntimeException("Lecture image " + path, e); // Remonte l'erreur d'entrée-sortie.
+        }
+    }
+}
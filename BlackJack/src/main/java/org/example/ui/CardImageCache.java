@@ -0,0 +1,118 @@
+package org.example.ui; // Déclare le package dédié à l'affichage.
+
+import javafx.scene.canvas.GraphicsContext; // Importe GraphicsContext pour dessiner les visuels.
+import javafx.scene.image.Image; // Importe Image pour conserver les cartes décodées.
+import org.example.game.Card; // Importe Card pour indexer le cache.
+
+import java.io.IOException; // Importe IOException pour la fermeture des flux.
+import java.io.InputStream; // Importe InputStream pour lire les ressources PNG.
+import java.util.concurrent.CompletableFuture; // Importe CompletableFuture pour attendre la fin du préchargement.
+
+final class CardImageCache { // Visuels des cartes décodés une seule fois : atlas du build, sinon PNG séparés.
+    static final String BACK_PATH = "/card/BACK.png"; // Ressource du dos de carte.
+    static final String TABLE_PATH = "/tapis.png"; // Ressource du tapis.
+
+    private final double width; // Largeur d'affichage d'une carte.
+    private final double height; // Hauteur d'affichage d'une carte.
+    private final Image[] faces = new Image[Card.COUNT]; // Recto séparés (sans atlas), indexés par Card.index() ; null si illisible.
+    private Image back; // Dos séparé (sans atlas), null s'il est absent.
+    private Image table; // Tapis séparé (sans atlas), null s'il est absent.
+    private volatile CompletableFuture<CardAtlas> ready; // Fin du préchargement ; porte l'atlas ou null, jamais d'erreur.
+
+    CardImageCache(double width, double height) { // Constructeur fixant la taille d'affichage.
+        this.width = width; // Mémorise la largeur.
+        this.height = height; // Mémorise la hauteur.
+    }
+
+    synchronized void preload(double outputScale) { // Décode les visuels sur un thread d'arrière-plan.
+        if (ready != null) { // Préchargement déjà lancé.
+            return; // Rien à faire.
+        }
+        CompletableFuture<CardAtlas> done = new CompletableFuture<>(); // Signal de fin.
+        ready = done; // Publie le signal avant le démarrage.
+        Thread.ofPlatform().daemon().name("card-preload").start(() -> { // Thread démon : n'empêche pas la fermeture.
+            CardAtlas atlas = null; // Atlas retenu.
+            try { // Une erreur ne doit pas se propager à chaque image dessinée.
+                atlas = warmUp(outputScale); // Atlas, ou null avec les images séparées chargées.
+            } finally { // Toujours débloquer le dessin.
+                done.complete(atlas); // Sans atlas, le dessin utilise ce qui a pu être décodé.
+            }
+        });
+    }
+
+    boolean drawFace(GraphicsContext g, Card card, double x, double y) { // Dessine un recto ; false s'il est illisible.
+        CardAtlas atlas = atlas(); // Attend le préchargement s'il n'est pas fini.
+        if (atlas != null) { // Atlas du build disponible.
+            atlas.drawFace(g, card, x, y, width, height); // Sous-rectangle de la texture.
+            return true; // Recto dessiné.
+        }
+        Image face = faces[card.index()]; // PNG séparé.
+        if (face == null) { // Ressource manquante.
+            return false; // L'appelant dessine un remplacement.
+        }
+        g.drawImage(face, x, y, width, height); // Image déjà à la bonne taille.
+        return true; // Recto dessiné.
+    }
+
+    boolean drawBack(GraphicsContext g, double x, double y) { // Dessine le dos ; false s'il est absent.
+        CardAtlas atlas = atlas(); // Attend le préchargement s'il n'est pas fini.
+        if (atlas != null) { // Atlas du build disponible.
+            return atlas.drawBack(g, x, y, width, height); // Sous-rectangle de la texture.
+        }
+        if (back == null) { // Ressource absente.
+            return false; // L'appelant dessine un remplacement.
+        }
+        g.drawImage(back, x, y, width, height); // Image déjà à la bonne taille.
+        return true; // Dos dessiné.
+    }
+
+    boolean drawTable(GraphicsContext g, double w, double h) { // Dessine le tapis ; false s'il est absent.
+        CardAtlas atlas = atlas(); // Attend le préchargement s'il n'est pas fini.
+        if (atlas != null) { // Atlas du build disponible.
+            return atlas.drawTable(g, w, h); // Sous-rectangle de la texture.
+        }
+        if (table == null) { // Ressource absente.
+            return false; // L'appelant dessine un fond uni.
+        }
+        g.drawImage(table, 0, 0, w, h); // Étire le tapis sur la surface.
+        return true; // Tapis dessiné.
+    }
+
+    private CardAtlas atlas() { // Retourne l'atlas une fois le préchargement terminé.
+        CompletableFuture<CardAtlas> done = ready; // Lecture volatile.
+        if (done == null) { // Préchargement jamais demandé.
+            preload(1); // Le lance en résolution standard.
+            done = ready; // Relit le signal.
+        }
+        return done.join(); // Immédiat en jeu : le préchargement a eu lieu pendant la connexion.
+    }
+
+    private CardAtlas warmUp(double outputScale) { // Charge l'atlas, ou à défaut chaque PNG.
+        try { // Un atlas illisible ne doit pas priver le jeu des cartes.
+            CardAtlas atlas = CardAtlas.load(outputScale); // Une seule texture à décoder.
+            if (atlas != null) { // Atlas présent dans le build.
+                return atlas; // Rien d'autre à charger.
+            }
+        } catch (RuntimeException ignore) { // Index ou texture corrompus : repli sur les PNG séparés.
+        }
+        double scale = outputScale > 1 ? 2 : 1; // Décode en HiDPI si l'écran agrandit.
+        for (int i = 0; i < Card.COUNT; i++) { // Parcourt le jeu canonique.
+            faces[i] = decode(Card.byIndex(i).imagePath(), width * scale, height * scale); // Décode à la taille d'affichage.
+        }
+        back = decode(BACK_PATH, width * scale, height * scale); // Dos à la taille d'affichage.
+        table = decode(TABLE_PATH, 0, 0); // Tapis à sa taille native.
+        return null; // Pas d'atlas : les images séparées servent au dessin.
+    }
+
+    private Image decode(String path, double w, double h) { // Décode un PNG à la taille demandée (0 = native).
+        try (InputStream in = CardImageCache.class.getResourceAsStream(path)) { // Ouvre la ressource du classpath.
+            if (in == null) { // Ressource introuvable.
+                return null; // Laisse l'appelant décider.
+            }
+            Image img = new Image(in, w, h, false, true); // Rééchantillonnage lissé une seule fois.
+            return img.isError() ? null : img; // Ignore un PNG corrompu.
+        } catch (IOException e) { // Fermeture du flux en échec.
+            return null; // Traité comme une ressource absente.
+        }
+    }
+}
@@ -2,7 +2,6 @@ package org.example.ui; // Déclare le package dédié à l'affichage.
 
 import javafx.scene.canvas.Canvas; // Importe Canvas pour cibler la zone de dessin.
 import javafx.scene.canvas.GraphicsContext; // Importe GraphicsContext pour dessiner.
-import javafx.scene.image.Image; // Importe Image pour afficher les cartes et fonds.
 import javafx.scene.paint.Color; // Importe Color pour les remplissages.
 import javafx.scene.text.Font; // Importe Font pour paramétrer la typographie.
 import javafx.scene.text.Text; // Importe Text pour mesurer la largeur de chaîne.
@@ -10,20 +9,16 @@ import org.example.game.BlackjackRound; // Importe la logique de manche.
 import org.example.game.Card; // Importe la représentation des cartes.
 import org.example.game.Hand; // Importe les mains du jeu.
 
-import java.util.Objects; // Importe Objects pour sécuriser les ressources.
-
 public final class GameRenderer { // Classe responsable du rendu du plateau.
     private static final double CARD_W = 110; // Largeur standardisée d'une carte.
     private static final double CARD_H = 160; // Hauteur standardisée d'une carte.
     private static final double CARD_SPACING_FACTOR = 0.35; // Taux de recouvrement des cartes.
     private static final Text PROBE = new Text(); // Objet partagé pour mesurer le texte.
 
-    private final Image tableImage; // Image de fond du tapis.
-    private final Image cardBack; // Image du dos de carte.
+    private final CardImageCache sprites = new CardImageCache(CARD_W, CARD_H); // Cartes, dos et tapis décodés une seule fois.
 
-    public GameRenderer(Image tableImage, Image cardBack) { // Constructeur injectant les ressources graphiques.
-        this.tableImage = tableImage; // Stocke l'image du tapis.
-        this.cardBack = cardBack; // Stocke l'image du dos de carte.
+    public void preload(double outputScale) { // Lance le décodage en arrière-plan (à appeler pendant l'écran de connexion).
+        sprites.preload(outputScale); // Délègue au cache, qui choisit l'atlas 1x ou 2x selon l'écran.
     }
 
     public void render(Canvas canvas, BlackjackRound round, int balance, String message) { // Dessine la scène de jeu complète.
@@ -32,9 +27,7 @@ public final class GameRenderer { // Classe responsable du rendu du plateau.
         double height = canvas.getHeight(); // Récupère la hauteur actuelle du canvas.
 
         g.clearRect(0, 0, width, height); // Efface le contenu précédent.
-        if (tableImage != null) { // Vérifie si un tapis personnalisé est disponible.
-            g.drawImage(tableImage, 0, 0, width, height); // Dessine l'image de fond.
-        } else { // Sinon, utilise un fond vert par défaut.
+        if (!sprites.drawTable(g, width, height)) { // Dessine le tapis, sinon un fond vert par défaut.
             g.setFill(Color.web("#35654d")); // Sélectionne un vert casino.
             g.fillRect(0, 0, width, height); // Remplit toute la surface.
         }
@@ -54,9 +47,7 @@ public final class GameRenderer { // Classe responsable du rendu du plateau.
         double offset = CARD_W * CARD_SPACING_FACTOR; // Calcule l'écart horizontal entre cartes.
         if (!round.isDealerRevealed() && round.hasHiddenCard()) { // Cas où la carte reste cachée.
             drawCards(g, round.dealerHand().cards(), x + offset, y); // Dessine les cartes visibles décalées.
-            if (cardBack != null) { // Vérifie que l'image du dos est disponible.
-                g.drawImage(cardBack, x, y, CARD_W, CARD_H); // Dessine le dos sur la gauche.
-            } else { // Fallback si l'image est absente.
+            if (!sprites.drawBack(g, x, y)) { // Dessine le dos sur la gauche, sinon un remplacement.
                 g.setFill(Color.DARKGREEN); // Choisit une couleur de remplacement.
                 g.fillRoundRect(x, y, CARD_W, CARD_H, 12, 12); // Dessine un rectangle symbolique.
             }
@@ -76,8 +67,13 @@ public final class GameRenderer { // Classe responsable du rendu du plateau.
     }
 
     private void drawCard(GraphicsContext g, Card card, double x, double y) { // Dessine une seule carte recto.
-        Image img = new Image(Objects.requireNonNull(getClass().getResourceAsStream(card.imagePath()))); // Charge l'image associée.
-        g.drawImage(img, x, y, CARD_W, CARD_H); // Dessine l'image aux dimensions standard.
+        if (!sprites.drawFace(g, card, x, y)) { // Sprite déjà décodé : ni lecture ni rééchantillonnage du PNG.
+            g.setFill(Color.WHITE); // Fond de carte de remplacement.
+            g.fillRoundRect(x, y, CARD_W, CARD_H, 12, 12); // Dessine un rectangle symbolique.
+            g.setFill(Color.BLACK); // Couleur du libellé.
+            g.setFont(Font.font("Arial", 20)); // Police du libellé.
+            g.fillText(card.toString(), x + 10, y + 28); // Affiche valeur et couleur.
+        }
     }
 
     private void drawScores(GraphicsContext g, BlackjackRound round, double dealerX, double dealerY, double playerX, double playerY) { // Dessine les totaux texte.
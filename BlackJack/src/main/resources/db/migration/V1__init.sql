@@ -0,0 +1,64 @@
+-- V1__init.sql
+-- Schéma initial. Les IF NOT EXISTS permettent d'adopter une base créée avant les migrations (user_version = 0).
+
+CREATE TABLE IF NOT EXISTS utilisateur (
+  id_utilisateur   INTEGER PRIMARY KEY AUTOINCREMENT,
+  email            TEXT NOT NULL UNIQUE,
+  pseudo           TEXT NOT NULL,
+  hash_mdp         TEXT NOT NULL,
+  date_creation    TEXT NOT NULL DEFAULT (datetime('now')),
+  etat             TEXT NOT NULL DEFAULT 'actif',   -- actif|bloque
+  role             TEXT NOT NULL DEFAULT 'user'     -- user|admin
+);
+
+CREATE TABLE IF NOT EXISTS wallet (
+  id_utilisateur     INTEGER PRIMARY KEY,
+  solde_actuel       INTEGER NOT NULL,               -- en XPF (entier)
+  last_daily_credit  TEXT NOT NULL,                  -- DATE (YYYY-MM-DD)
+  created_at         TEXT NOT NULL DEFAULT (datetime('now')),
+  updated_at         TEXT NOT NULL DEFAULT (datetime('now')),
+  FOREIGN KEY (id_utilisateur) REFERENCES utilisateur(id_utilisateur) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS session_jeu (
+  id_session       INTEGER PRIMARY KEY AUTOINCREMENT,
+  id_utilisateur   INTEGER NOT NULL,
+  date_debut       TEXT NOT NULL DEFAULT (datetime('now')),
+  date_fin         TEXT,
+  mise_totale      INTEGER NOT NULL DEFAULT 0,
+  gain_total       INTEGER NOT NULL DEFAULT 0,
+  resultat         TEXT,                             -- WIN|LOSE|PUSH
+  seed_rng         TEXT,                             -- graine du sabot (ShoeSeed.encode)
+  FOREIGN KEY (id_utilisateur) REFERENCES utilisateur(id_utilisateur) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS txn (
+  id_tx          INTEGER PRIMARY KEY AUTOINCREMENT,
+  id_utilisateur INTEGER NOT NULL,
+  id_session     INTEGER,
+  type           TEXT NOT NULL,                      -- INIT|DAILY_CREDIT|BET|PAYOUT|BONUS|ADJUST
+  montant        INTEGER NOT NULL,                   -- XPF, signé (BET négatif)
+  solde_avant    INTEGER NOT NULL,
+  solde_apres    INTEGER NOT NULL,
+  note           TEXT,
+  created_at     TEXT NOT NULL DEFAULT (datetime('now')),
+  FOREIGN KEY (id_utilisateur) REFERENCES utilisateur(id_utilisateur) ON DELETE CASCADE,
+  FOREIGN KEY (id_session)     REFERENCES session_jeu(id_session) ON DELETE SET NULL
+);
+
+-- Portefeuille et ligne INIT créés avec l'utilisateur.
+CREATE TRIGGER IF NOT EXISTS trg_user_init_wallet
+AFTER INSERT ON utilisateur
+BEGIN
+  INSERT INTO wallet(id_utilisateur, solde_actuel, last_daily_credit, created_at, updated_at)
+  VALUES (NEW.id_utilisateur, 10000, date('now'), datetime('now'), datetime('now'));
+
+  INSERT INTO txn(id_utilisateur, id_session, type, montant, solde_avant, solde_apres, note)
+  VALUES (NEW.id_utilisateur, NULL, 'INIT', 10000, 0, 10000, 'Solde initial');
+END;
+
+-- Le solde est ajusté atomiquement par DatabaseService (UPDATE ... RETURNING) ; l'ancien trigger de recopie disparaît.
+DROP TRIGGER IF EXISTS trg_tx_commit;
+
+CREATE INDEX IF NOT EXISTS idx_tx_user_date ON txn(id_utilisateur, created_at);
+CREATE INDEX IF NOT EXISTS idx_sess_user_date ON session_jeu(id_utilisateur, date_debut);
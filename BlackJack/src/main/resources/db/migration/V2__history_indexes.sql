@@ -0,0 +1,13 @@
+-- V2__history_indexes.sql
+-- Index de l'historique paginé par clé (DatabaseService.ledgerPage / roundPage).
+-- L'ordre (utilisateur, date, id) suit exactement le parcours d'une page.
+-- Grand livre : index réduit aux colonnes de tri, le reste de la ligne est lu par rowid (id_tx), au plus LIMIT lectures ;
+-- copier toute la ligne (note comprise) doublerait la taille de txn et le coût de chaque insertion.
+-- Manches : index couvrant, les colonnes suivantes évitent la lecture de la table.
+
+DROP INDEX IF EXISTS idx_tx_user_date;
+CREATE INDEX IF NOT EXISTS idx_tx_user_page ON txn(id_utilisateur, created_at, id_tx);
+
+DROP INDEX IF EXISTS idx_sess_user_date;
+CREATE INDEX IF NOT EXISTS idx_sess_user_history
+  ON session_jeu(id_utilisateur, date_debut, id_session, date_fin, mise_totale, gain_total, resultat);
@@ -0,0 +1,28 @@
+-- V3__user_stats.sql
+-- Agrégat par joueur maintenu dans la transaction de règlement (DatabaseService.settle) : aucun parcours de l'historique.
+
+CREATE TABLE IF NOT EXISTS user_stats (
+  id_utilisateur   INTEGER PRIMARY KEY,
+  manches          INTEGER NOT NULL DEFAULT 0,
+  victoires        INTEGER NOT NULL DEFAULT 0,
+  defaites         INTEGER NOT NULL DEFAULT 0,
+  egalites         INTEGER NOT NULL DEFAULT 0,
+  total_mise       INTEGER NOT NULL DEFAULT 0,        -- XPF misés
+  resultat_net     INTEGER NOT NULL DEFAULT 0,        -- gains - mises
+  plus_gros_gain   INTEGER NOT NULL DEFAULT 0,        -- meilleur résultat net d'une manche
+  FOREIGN KEY (id_utilisateur) REFERENCES utilisateur(id_utilisateur) ON DELETE CASCADE
+);
+
+-- Reprise des manches déjà réglées.
+INSERT OR IGNORE INTO user_stats(id_utilisateur, manches, victoires, defaites, egalites, total_mise, resultat_net, plus_gros_gain)
+SELECT id_utilisateur,
+       count(*),
+       sum(resultat = 'WIN'),
+       sum(resultat = 'LOSE'),
+       sum(resultat = 'PUSH'),
+       sum(mise_totale),
+       sum(gain_total - mise_totale),
+       max(max(gain_total - mise_totale), 0)
+FROM session_jeu
+WHERE resultat IS NOT NULL
+GROUP BY id_utilisateur;
@@ -0,0 +1,31 @@
+-- V4__house_rollup.sql
+-- Cumuls horaires (H) et journaliers (D) de la banque, en UTC, maintenus à chaque règlement (HouseAnalytics).
+-- debut : '%Y-%m-%d %H:00:00' pour H, '%Y-%m-%d' pour D.
+
+CREATE TABLE IF NOT EXISTS house_rollup (
+  granularite  TEXT    NOT NULL,                       -- H|D
+  debut        TEXT    NOT NULL,                       -- début de la tranche
+  manches      INTEGER NOT NULL DEFAULT 0,
+  mises        INTEGER NOT NULL DEFAULT 0,             -- XPF misés par les joueurs
+  paiements    INTEGER NOT NULL DEFAULT 0,             -- XPF rendus aux joueurs
+  joueurs      INTEGER NOT NULL DEFAULT 0,             -- joueurs distincts dans la tranche
+  PRIMARY KEY (granularite, debut)
+) WITHOUT ROWID;
+
+-- Joueurs déjà comptés dans une tranche ; une nouvelle ligne incrémente house_rollup.joueurs.
+CREATE TABLE IF NOT EXISTS house_rollup_joueur (
+  granularite     TEXT    NOT NULL,
+  debut           TEXT    NOT NULL,
+  id_utilisateur  INTEGER NOT NULL,
+  PRIMARY KEY (granularite, debut, id_utilisateur)
+) WITHOUT ROWID;
+
+CREATE TRIGGER IF NOT EXISTS trg_rollup_joueur
+AFTER INSERT ON house_rollup_joueur
+BEGIN
+  UPDATE house_rollup SET joueurs = joueurs + 1
+   WHERE granularite = NEW.granularite AND debut = NEW.debut;
+END;
+
+-- Sert la reprise des tranches récentes (HouseAnalytics.backfill).
+CREATE INDEX IF NOT EXISTS idx_sess_fin ON session_jeu(date_fin) WHERE resultat IS NOT NULL;
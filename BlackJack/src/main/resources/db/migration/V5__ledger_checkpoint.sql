@@ -0,0 +1,21 @@
+-- V5__ledger_checkpoint.sql
+-- Compactage du grand livre (LedgerCompactor) : les lignes anciennes de txn partent dans des archives gzip hors base.
+-- Solde = dernier point de contrôle + lignes vivantes postérieures ; le détail archivé reste lisible via txn_archive.
+
+CREATE TABLE IF NOT EXISTS balance_checkpoint (
+  id_utilisateur  INTEGER NOT NULL,
+  id_tx           INTEGER NOT NULL,                   -- dernière ligne archivée de l'utilisateur
+  solde           INTEGER NOT NULL,                   -- solde après cette ligne
+  created_at      TEXT    NOT NULL DEFAULT (datetime('now')),
+  PRIMARY KEY (id_utilisateur, id_tx),
+  FOREIGN KEY (id_utilisateur) REFERENCES utilisateur(id_utilisateur) ON DELETE CASCADE
+) WITHOUT ROWID;
+
+CREATE TABLE IF NOT EXISTS txn_archive (
+  id_archive      INTEGER PRIMARY KEY AUTOINCREMENT,
+  fichier         TEXT    NOT NULL,                   -- nom du fichier dans le dossier d'archives
+  premier_id_tx   INTEGER NOT NULL,
+  dernier_id_tx   INTEGER NOT NULL,
+  lignes          INTEGER NOT NULL,
+  created_at      TEXT    NOT NULL DEFAULT (datetime('now'))
+);
@@ -0,0 +1,12 @@
+-- V6__login_token.sql
+-- Jetons de connexion persistants : un joueur revenant évite bcrypt. Seule l'empreinte SHA-256 du jeton est stockée.
+
+CREATE TABLE IF NOT EXISTS login_token (
+  empreinte       TEXT    PRIMARY KEY,                 -- SHA-256 hexadécimal du jeton
+  id_utilisateur  INTEGER NOT NULL,
+  expire_at       TEXT    NOT NULL,
+  created_at      TEXT    NOT NULL DEFAULT (datetime('now')),
+  FOREIGN KEY (id_utilisateur) REFERENCES utilisateur(id_utilisateur) ON DELETE CASCADE
+) WITHOUT ROWID;
+
+CREATE INDEX IF NOT EXISTS idx_token_user ON login_token(id_utilisateur);
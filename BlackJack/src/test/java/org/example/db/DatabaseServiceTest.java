@@ -0,0 +1,144 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import org.example.game.RoundResult; // Importe le résultat typé d'une manche.
+import org.junit.jupiter.api.AfterEach; // Importe l'annotation de nettoyage.
+import org.junit.jupiter.api.BeforeEach; // Importe l'annotation de préparation.
+import org.junit.jupiter.api.Test; // Importe l'annotation de test JUnit.
+import org.junit.jupiter.api.io.TempDir; // Importe le dossier temporaire JUnit.
+
+import java.nio.file.Path; // Importe Path pour le fichier de test.
+import java.sql.Connection; // Importe Connection pour relire la base.
+import java.sql.DriverManager; // Importe DriverManager pour ouvrir la base.
+import java.sql.PreparedStatement; // Importe PreparedStatement pour les vérifications.
+import java.sql.ResultSet; // Importe ResultSet pour lire les comptes.
+import java.sql.SQLException; // Importe SQLException des vérifications.
+import java.sql.Statement; // Importe Statement pour vieillir un jeton.
+import java.util.ArrayList; // Importe ArrayList pour relire l'historique.
+import java.util.List; // Importe List pour comparer le classement.
+import java.util.concurrent.CompletionException; // Importe l'enveloppe des promesses échouées.
+
+import static org.junit.jupiter.api.Assertions.assertEquals; // Importe la comparaison de valeurs.
+import static org.junit.jupiter.api.Assertions.assertInstanceOf; // Importe la vérification de type.
+import static org.junit.jupiter.api.Assertions.assertNull; // Importe la vérification de nullité.
+import static org.junit.jupiter.api.Assertions.assertThrows; // Importe la vérification d'exception.
+
+class DatabaseServiceTest { // Opérations financières sur une base SQLite temporaire.
+    private static final int INITIAL_BALANCE = 10_000; // Solde créé par trg_user_init_wallet.
+
+    @TempDir
+    Path dir; // Dossier supprimé après chaque test.
+
+    private String dbPath; // Fichier de la base.
+    private DatabaseService database; // Service testé.
+    private long userId; // Joueur de test.
+
+    @BeforeEach
+    void open() { // Base neuve avec un joueur.
+        dbPath = dir.resolve("test.db").toString(); // Fichier temporaire.
+        database = new DatabaseService(dbPath, PoolConfig.defaults()); // Applique les migrations.
+        userId = database.createUserHashed("joueur@test.fr", "joueur", "$2a$10$hash-de-test"); // Hash factice : bcrypt n'est pas exercé ici.
+    }
+
+    @AfterEach
+    void close() { // Ferme le pool.
+        database.close(); // Libère le fichier.
+    }
+
+    private long count(String sql) throws SQLException { // Compte des lignes pour le joueur depuis une connexion indépendante.
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + dbPath); PreparedStatement ps = c.prepareStatement(sql)) { // Lecture hors du pool.
+            ps.setLong(1, userId); // Paramètre le joueur.
+            try (ResultSet rs = ps.executeQuery()) { // Exécute le comptage.
+                rs.next(); // Une seule ligne.
+                return rs.getLong(1); // Retourne le compte.
+            }
+        }
+    }
+
+    @Test
+    void betBeyondBalanceIsRejectedWithoutSideEffect() throws SQLException { // Le contrôle des fonds et le débit sont atomiques.
+        long sessionId = database.startSession(userId); // Session ouverte.
+        long ledger = count("SELECT count(*) FROM txn WHERE id_utilisateur=?"); // Lignes avant la mise.
+        InsufficientFundsException refused = assertThrows(InsufficientFundsException.class,
+                () -> database.placeBet(userId, sessionId, INITIAL_BALANCE + 1)); // Mise supérieure au solde.
+        assertEquals(INITIAL_BALANCE, refused.balance()); // Le refus porte le solde courant.
+        assertEquals(INITIAL_BALANCE, database.getBalance(userId)); // Solde inchangé.
+        assertEquals(ledger, count("SELECT count(*) FROM txn WHERE id_utilisateur=?")); // Aucune ligne de grand livre.
+        assertEquals(INITIAL_BALANCE - 500, database.placeBet(userId, sessionId, 500)); // Une mise couverte passe toujours.
+    }
+
+    @Test
+    void settleCreditsAndLedgerMatchesBalance() throws SQLException { // Mise et règlement gardent le grand livre égal au solde.
+        long sessionId = database.startSession(userId); // Session ouverte.
+        assertEquals(INITIAL_BALANCE - 500, database.placeBet(userId, sessionId, 500)); // Débit.
+        assertEquals(INITIAL_BALANCE + 500, database.settle(userId, sessionId, 1_000, RoundResult.WIN)); // Mise rendue plus le gain.
+        assertEquals(INITIAL_BALANCE + 500, database.getBalance(userId)); // Solde relu.
+        assertEquals(INITIAL_BALANCE + 500, count("SELECT sum(montant) FROM txn WHERE id_utilisateur=?")); // Somme du grand livre.
+    }
+
+    @Test
+    void rejectedOpeningLeavesNoSession() throws SQLException { // Session et mise sont validées ensemble.
+        CompletionException failed = assertThrows(CompletionException.class,
+                () -> database.openRoundAsync(userId, null, INITIAL_BALANCE + 1).join()); // Mise refusée.
+        assertInstanceOf(InsufficientFundsException.class, failed.getCause()); // Refus typé.
+        assertEquals(0, count("SELECT count(*) FROM session_jeu WHERE id_utilisateur=?")); // Aucune session orpheline.
+        assertEquals(INITIAL_BALANCE, database.getBalance(userId)); // Solde inchangé.
+
+        DatabaseService.OpenedRound opened = database.openRoundAsync(userId, null, 200).join(); // Mise couverte.
+        assertEquals(INITIAL_BALANCE - 200, opened.balance()); // Solde débité.
+        assertEquals(1, count("SELECT count(*) FROM session_jeu WHERE id_utilisateur=?")); // Une session créée.
+    }
+
+    @Test
+    void settleUpdatesStatsAndLeaderboard() { // Statistiques et classement suivent chaque règlement validé.
+        long rival = database.createUserHashed("rival@test.fr", "rival", "$2a$10$hash-de-test"); // Second joueur classé.
+        long won = database.startSession(userId); // Manche gagnée.
+        database.placeBet(userId, won, 500); // Mise.
+        database.settle(userId, won, 1_000, RoundResult.WIN); // Gain net de 500.
+        long lost = database.startSession(rival); // Manche perdue.
+        database.placeBet(rival, lost, 300); // Mise.
+        database.settle(rival, lost, 0, RoundResult.LOSE); // Perte nette de 300.
+        assertEquals(new DatabaseService.UserStats(1, 1, 0, 0, 500, 500, 500), database.findUserStats(userId)); // Agrégat du gagnant.
+        assertEquals(new DatabaseService.UserStats(1, 0, 1, 0, 300, -300, 0), database.findUserStats(rival)); // Agrégat du perdant.
+
+        Leaderboard board = database.leaderboard(); // Premier accès : chargé depuis user_stats.
+        assertEquals(List.of(new Leaderboard.Entry(userId, "joueur", 500, 1), new Leaderboard.Entry(rival, "rival", -300, 1)), board.top(10)); // Meilleur résultat net en tête.
+
+        long comeback = database.startSession(rival); // Manche réglée après le chargement.
+        database.placeBet(rival, comeback, 1_000); // Mise.
+        database.settle(rival, comeback, 3_000, RoundResult.WIN); // Gain net de 2 000.
+        assertEquals(List.of(new Leaderboard.Entry(rival, "rival", 1_700, 2)), board.top(1)); // Classement en mémoire mis à jour sans relecture.
+        assertEquals(2, board.size()); // Aucun doublon pour le joueur déplacé.
+    }
+
+    @Test
+    void ledgerPageKeepsSessionlessRowsNull() { // La ligne INIT n'appartient à aucune session.
+        long sessionId = database.startSession(userId); // Session ouverte.
+        database.placeBet(userId, sessionId, 500); // Ligne rattachée à la session.
+        List<DatabaseService.LedgerEntry> entries = new ArrayList<>(); // Lignes relues.
+        assertNull(database.ledgerPage(userId, null, 10, entries::add)); // Page incomplète : fin de l'historique.
+        assertEquals(List.of("BET", "INIT"), entries.stream().map(DatabaseService.LedgerEntry::type).toList()); // Plus récent d'abord.
+        assertEquals(sessionId, entries.get(0).sessionId()); // Session de la mise.
+        assertNull(entries.get(1).sessionId()); // Aucune session, pas 0.
+    }
+
+    @Test
+    void tokenResolvesUntilRevoked() { // Un jeton valide identifie le joueur jusqu'à sa révocation.
+        String token = database.issueLoginToken(userId, 30); // Jeton de 30 jours.
+        assertEquals(Long.valueOf(userId), database.findUserByToken(token)); // Reconnu.
+        assertNull(database.findUserByToken(token + "x")); // Un autre jeton est inconnu.
+        database.revokeLoginToken(token); // Déconnexion.
+        assertNull(database.findUserByToken(token)); // Plus reconnu.
+    }
+
+    @Test
+    void expiredTokenIsRejectedAndPurged() throws SQLException { // Un jeton expiré n'identifie plus personne et disparaît à l'émission suivante.
+        String expired = database.issueLoginToken(userId, 30); // Jeton émis normalement.
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + dbPath); Statement st = c.createStatement()) { // Hors du pool.
+            st.executeUpdate("UPDATE login_token SET expire_at = datetime('now', '-1 day')"); // Expiré depuis un jour.
+        }
+        assertNull(database.findUserByToken(expired)); // Refusé.
+        String valid = database.issueLoginToken(userId, 30); // Jeton courant ; purge les jetons expirés du joueur.
+        assertEquals(Long.valueOf(userId), database.findUserByToken(valid)); // Le jeton courant reste valide.
+        assertEquals(1, count("SELECT count(*) FROM login_token WHERE id_utilisateur=?")); // Seul le jeton courant est stocké.
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import org.junit.jupiter.api.Test; // Importe l'annotation de test JUnit.
+import org.junit.jupiter.api.io.TempDir; // Importe le dossier temporaire JUnit.
+
+import java.nio.file.Path; // Importe Path pour le fichier de test.
+import java.sql.PreparedStatement; // Importe PreparedStatement pour les écritures de test.
+import java.sql.ResultSet; // Importe ResultSet pour relire la table.
+import java.sql.SQLException; // Importe SQLException attendue sur doublon.
+import java.sql.Statement; // Importe Statement pour créer la table.
+import java.util.ArrayList; // Importe ArrayList pour relire les valeurs.
+import java.util.List; // Importe List pour comparer les valeurs.
+import java.util.concurrent.CompletableFuture; // Importe CompletableFuture des écritures.
+import java.util.concurrent.CompletionException; // Importe l'enveloppe des promesses échouées.
+
+import static org.junit.jupiter.api.Assertions.assertEquals; // Importe la comparaison de valeurs.
+import static org.junit.jupiter.api.Assertions.assertInstanceOf; // Importe la vérification de type.
+import static org.junit.jupiter.api.Assertions.assertThrows; // Importe la vérification d'exception.
+
+class GroupCommitWriterTest { // Vérifie qu'une écriture en échec n'annule que son point de sauvegarde.
+    @TempDir
+    Path dir; // Dossier supprimé après chaque test.
+
+    private static SqlWork<Integer> insert(int value) { // Écriture d'une valeur unique.
+        return connection -> { // Exécutée par le thread d'écriture.
+            PreparedStatement ps = connection.prepare("INSERT INTO t(v) VALUES (?)"); // Requête compilée en cache.
+            ps.setInt(1, value); // Paramètre la valeur.
+            return ps.executeUpdate(); // Une ligne insérée.
+        };
+    }
+
+    private static List<Integer> values(ConnectionPool pool) { // Valeurs validées, dans l'ordre.
+        return pool.read(connection -> { // Lit sur un lecteur.
+            List<Integer> out = new ArrayList<>(); // Résultat.
+            try (Statement st = connection.raw().createStatement(); ResultSet rs = st.executeQuery("SELECT v FROM t ORDER BY v")) { // Parcourt la table.
+                while (rs.next()) { // Chaque ligne.
+                    out.add(rs.getInt(1)); // Ajoute la valeur.
+                }
+            }
+            return out; // Retourne les valeurs.
+        });
+    }
+
+    @Test
+    void failedWriteRollsBackOnlyItsSavepoint() { // Le doublon est annulé, ses voisins du lot sont validés.
+        try (ConnectionPool pool = new ConnectionPool(dir.resolve("batch.db").toString(), PoolConfig.defaults())) { // Base neuve.
+            pool.write(connection -> { // Table à contrainte d'unicité.
+                try (Statement st = connection.raw().createStatement()) { // Statement dédié au DDL.
+                    return st.executeUpdate("CREATE TABLE t(v INTEGER UNIQUE)"); // Crée la table.
+                }
+            });
+            CompletableFuture<Integer> first; // Écriture valide avant l'échec.
+            CompletableFuture<Integer> duplicate; // Écriture en échec.
+            CompletableFuture<Integer> last; // Écriture valide après l'échec.
+            try (GroupCommitWriter writer = new GroupCommitWriter(pool, 3, 5_000)) { // Un lot de trois, attente longue : les trois écritures partagent un commit.
+                first = writer.submit(insert(1)); // Valide.
+                duplicate = writer.submit(insert(1)); // Viole l'unicité.
+                last = writer.submit(insert(2)); // Valide.
+                assertEquals(1, first.join()); // Validée.
+                assertEquals(1, last.join()); // Validée malgré l'échec qui la précède.
+                CompletionException failed = assertThrows(CompletionException.class, duplicate::join); // Échec individuel.
+                assertInstanceOf(SQLException.class, failed.getCause()); // Erreur SQL d'origine.
+            }
+            assertEquals(List.of(1, 2), values(pool)); // Seule l'écriture fautive manque.
+        }
+    }
+
+    @Test
+    void closeFlushesQueueAndRefusesLateWrites() { // La fermeture valide ce qui est en file puis refuse la suite.
+        try (ConnectionPool pool = new ConnectionPool(dir.resolve("close.db").toString(), PoolConfig.defaults())) { // Base neuve.
+            pool.write(connection -> { // Table de test.
+                try (Statement st = connection.raw().createStatement()) { // Statement dédié au DDL.
+                    return st.executeUpdate("CREATE TABLE t(v INTEGER UNIQUE)"); // Crée la table.
+                }
+            });
+            GroupCommitWriter writer = new GroupCommitWriter(pool, 100, 5_000); // Lot jamais plein : seule la fermeture le valide vite.
+            CompletableFuture<Integer> queued = writer.submit(insert(7)); // En file.
+            writer.close(); // Vide la file puis s'arrête.
+            assertEquals(1, queued.join()); // Écriture validée.
+            CompletionException refused = assertThrows(CompletionException.class, () -> writer.submit(insert(8)).join()); // Trop tard.
+            assertInstanceOf(IllegalStateException.class, refused.getCause()); // Écrivain fermé.
+            assertEquals(List.of(7), values(pool)); // Seule l'écriture admise est en base.
+        }
+    }
+
+    @Test
+    void refusedBetInBatchKeepsOtherPlayersWrites() { // Côté service : une mise refusée ne fait pas échouer le lot.
+        try (DatabaseService database = new DatabaseService(dir.resolve("bets.db").toString(), PoolConfig.defaults())) { // Schéma complet.
+            long rich = database.createUserHashed("riche@test.fr", "riche", "$2a$10$hash-de-test"); // Joueur solvable.
+            long poor = database.createUserHashed("pauvre@test.fr", "pauvre", "$2a$10$hash-de-test"); // Joueur qui mise trop.
+            database.enableGroupCommit(2, 5_000); // Lot de deux : les deux ouvertures partagent un commit.
+            CompletableFuture<DatabaseService.OpenedRound> accepted = database.openRoundAsync(rich, null, 1_000); // Mise couverte.
+            CompletableFuture<DatabaseService.OpenedRound> refused = database.openRoundAsync(poor, null, 20_000); // Mise au-delà du solde.
+            assertEquals(9_000, accepted.join().balance()); // Débit validé.
+            CompletionException failed = assertThrows(CompletionException.class, refused::join); // Refus individuel.
+            assertInstanceOf(InsufficientFundsException.class, failed.getCause()); // Refus typé.
+            assertEquals(9_000, database.getBalance(rich)); // Débit durable.
+            assertEquals(10_000, database.getBalance(poor)); // Solde intact.
+        }
+    }
+}
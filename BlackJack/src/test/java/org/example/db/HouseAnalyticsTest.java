@@ -0,0 +1,103 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import org.example.game.RoundResult; // Importe le résultat typé d'une manche.
+import org.junit.jupiter.api.Test; // Importe l'annotation de test JUnit.
+import org.junit.jupiter.api.io.TempDir; // Importe le dossier temporaire JUnit.
+
+import java.nio.file.Path; // Importe Path pour le fichier de test.
+import java.sql.PreparedStatement; // Importe PreparedStatement pour les sessions de test.
+import java.sql.ResultSet; // Importe ResultSet pour lire les identifiants.
+import java.util.ArrayList; // Importe ArrayList pour relire les tranches.
+import java.util.List; // Importe List pour comparer les tranches.
+
+import static org.junit.jupiter.api.Assertions.assertEquals; // Importe la comparaison de valeurs.
+import static org.junit.jupiter.api.Assertions.assertFalse; // Importe la vérification négative.
+
+class HouseAnalyticsTest { // Vérifie les cumuls incrémentaux de la banque et leur reconstruction.
+    private static final String FROM = "0000"; // Avant toute tranche.
+    private static final String TO = "9999"; // Après toute tranche.
+
+    @TempDir
+    Path dir; // Dossier supprimé après chaque test.
+
+    private static List<HouseAnalytics.Rollup> all(HouseAnalytics analytics, HouseAnalytics.Granularity granularity) { // Toutes les tranches d'une granularité.
+        List<HouseAnalytics.Rollup> out = new ArrayList<>(); // Résultat.
+        analytics.rollups(granularity, FROM, TO, out::add); // Parcourt la clé primaire.
+        return out; // Retourne les tranches dans l'ordre.
+    }
+
+    private static void settleAt(ConnectionPool pool, long userId, int bet, int paid, String dateFin) { // Session réglée à une date donnée, comptée comme le fait settle.
+        pool.transaction(connection -> { // Même transaction que le règlement.
+            PreparedStatement ps = connection.prepare("""
+                    INSERT INTO session_jeu(id_utilisateur, date_fin, mise_totale, gain_total, resultat) VALUES (?, ?, ?, ?, ?) RETURNING id_session
+                    """); // Session déjà close.
+            ps.setLong(1, userId); // Joueur.
+            ps.setString(2, dateFin); // Date de règlement.
+            ps.setInt(3, bet); // Mise.
+            ps.setInt(4, paid); // Paiement.
+            ps.setString(5, (paid > bet ? RoundResult.WIN : paid == bet ? RoundResult.PUSH : RoundResult.LOSE).name()); // Issue cohérente.
+            try (ResultSet rs = ps.executeQuery()) { // Insère et lit l'identifiant.
+                rs.next(); // Une ligne.
+                HouseAnalytics.recordSettlement(connection, rs.getLong(1)); // Chemin incrémental.
+            }
+            return null; // Aucun résultat.
+        });
+    }
+
+    @Test
+    void settleUpdatesCurrentRollups() { // Un règlement du service alimente la tranche du jour.
+        try (DatabaseService database = new DatabaseService(dir.resolve("settle.db").toString(), PoolConfig.defaults())) { // Schéma complet.
+            long first = database.createUserHashed("un@test.fr", "un", "$2a$10$hash-de-test"); // Premier joueur.
+            long second = database.createUserHashed("deux@test.fr", "deux", "$2a$10$hash-de-test"); // Second joueur.
+            for (int i = 0; i < 2; i++) { // Deux manches du premier joueur.
+                long sessionId = database.startSession(first); // Session ouverte.
+                database.placeBet(first, sessionId, 500); // Mise.
+                database.settle(first, sessionId, 1_000, RoundResult.WIN); // Paiement de 1 000.
+            }
+            long sessionId = database.startSession(second); // Manche du second joueur.
+            database.placeBet(second, sessionId, 300); // Mise.
+            database.settle(second, sessionId, 0, RoundResult.LOSE); // Aucun paiement.
+
+            HouseAnalytics.Rollup day = database.analytics().summary(HouseAnalytics.Granularity.DAY, FROM, TO); // Toutes les tranches journalières.
+            assertEquals(new HouseAnalytics.Rollup(FROM, 3, 1_300, 2_000, 2), day); // Trois manches, deux joueurs distincts.
+            assertEquals(-700, day.houseNet()); // La banque a perdu ces manches.
+            HouseAnalytics.Rollup hour = database.analytics().summary(HouseAnalytics.Granularity.HOUR, FROM, TO); // Mêmes manches en tranches horaires.
+            assertEquals(day, hour); // Chaque manche est comptée dans les deux granularités.
+        }
+    }
+
+    @Test
+    void backfillMatchesIncrementalRollups() { // La reprise reconstruit exactement les cumuls tenus au fil des règlements.
+        try (ConnectionPool pool = new ConnectionPool(dir.resolve("backfill.db").toString(), PoolConfig.defaults())) { // Pool direct : dates de règlement choisies.
+            new SchemaMigrator(pool).migrate(); // Schéma complet.
+            pool.transaction(connection -> connection.prepare("""
+                    INSERT INTO utilisateur(email, pseudo, hash_mdp) VALUES ('un@test.fr', 'un', 'x'), ('deux@test.fr', 'deux', 'x')
+                    """).executeUpdate()); // Joueurs 1 et 2.
+            settleAt(pool, 1, 500, 1_000, "2024-03-01 10:15:00"); // Tranche ancienne, lue par blocs.
+            settleAt(pool, 1, 200, 0, "2024-03-01 10:45:00"); // Même heure, même joueur.
+            settleAt(pool, 2, 100, 100, "2024-03-01 23:59:59"); // Même jour, autre heure.
+            settleAt(pool, 2, 400, 0, "2024-03-02 00:00:00"); // Jour suivant.
+            settleAt(pool, 1, 300, 600, currentTimestamp(pool)); // Fenêtre récente, recalculée sous le verrou.
+            settleAt(pool, 2, 300, 0, currentTimestamp(pool)); // Second joueur dans la même tranche.
+
+            HouseAnalytics analytics = new HouseAnalytics(pool); // Moteur testé.
+            List<HouseAnalytics.Rollup> hours = all(analytics, HouseAnalytics.Granularity.HOUR); // Cumuls incrémentaux horaires.
+            List<HouseAnalytics.Rollup> days = all(analytics, HouseAnalytics.Granularity.DAY); // Cumuls incrémentaux journaliers.
+            assertFalse(days.isEmpty()); // Les règlements ont bien été comptés.
+
+            analytics.backfill(2); // Reconstruit depuis session_jeu.
+            assertEquals(hours, all(analytics, HouseAnalytics.Granularity.HOUR)); // Mêmes tranches horaires.
+            assertEquals(days, all(analytics, HouseAnalytics.Granularity.DAY)); // Mêmes tranches journalières.
+            assertEquals(new HouseAnalytics.Rollup("2024-03-01", 3, 800, 1_100, 2), days.get(0)); // Tranche ancienne attendue.
+        }
+    }
+
+    private static String currentTimestamp(ConnectionPool pool) { // Horodatage SQLite courant, en UTC.
+        return pool.read(connection -> { // Lit sur un lecteur.
+            try (ResultSet rs = connection.prepare("SELECT datetime('now')").executeQuery()) { // Horloge de la base.
+                rs.next(); // Une ligne.
+                return rs.getString(1); // Retourne l'horodatage.
+            }
+        });
+    }
+}
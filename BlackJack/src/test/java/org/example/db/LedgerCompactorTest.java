@@ -0,0 +1,75 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import org.example.game.RoundResult; // Importe le résultat typé d'une manche.
+import org.junit.jupiter.api.Test; // Importe l'annotation de test JUnit.
+import org.junit.jupiter.api.io.TempDir; // Importe le dossier temporaire JUnit.
+
+import java.nio.file.Path; // Importe Path pour la base et les archives.
+import java.sql.Connection; // Importe Connection pour vieillir le grand livre.
+import java.sql.DriverManager; // Importe DriverManager pour ouvrir la base.
+import java.sql.SQLException; // Importe SQLException des mises à jour brutes.
+import java.sql.Statement; // Importe Statement pour la mise à jour brute.
+import java.util.ArrayList; // Importe ArrayList pour relire le grand livre.
+import java.util.List; // Importe List pour comparer les lignes.
+
+import static org.junit.jupiter.api.Assertions.assertEquals; // Importe la comparaison de valeurs.
+import static org.junit.jupiter.api.Assertions.assertNull; // Importe la vérification de nullité.
+
+class LedgerCompactorTest { // Vérifie que l'archivage conserve soldes et historique.
+    private static final String HASH = "$2a$10$hash-de-test"; // Hash factice : bcrypt n'est pas exercé ici.
+
+    @TempDir
+    Path dir; // Dossier supprimé après chaque test.
+
+    private static void playRound(DatabaseService database, long userId, int bet, int payout, RoundResult result) { // Mise puis règlement d'une manche.
+        long sessionId = database.startSession(userId); // Session ouverte.
+        database.placeBet(userId, sessionId, bet); // Débit.
+        database.settle(userId, sessionId, payout, result); // Crédit.
+    }
+
+    private static List<DatabaseService.LedgerEntry> live(DatabaseService database, long userId) { // Lignes vivantes, de la plus ancienne à la plus récente.
+        List<DatabaseService.LedgerEntry> entries = new ArrayList<>(); // Résultat.
+        DatabaseService.HistoryCursor cursor = null; // Première page.
+        do { // Parcourt toutes les pages.
+            cursor = database.ledgerPage(userId, cursor, 3, entries::add); // Petites pages : exerce le curseur.
+        } while (cursor != null); // Jusqu'à la fin de l'historique.
+        return entries.reversed(); // Ordre chronologique.
+    }
+
+    @Test
+    void compactKeepsBalanceAndArchivedRowsReadBack() throws SQLException { // Solde reconstitué et lignes archivées identiques à l'original.
+        String dbPath = dir.resolve("ledger.db").toString(); // Fichier de la base.
+        Path archives = dir.resolve("archives"); // Dossier des archives.
+        try (DatabaseService database = new DatabaseService(dbPath, PoolConfig.defaults())) { // Schéma complet.
+            long alice = database.createUserHashed("alice@test.fr", "alice", HASH); // Premier joueur.
+            long bob = database.createUserHashed("bob@test.fr", "bob", HASH); // Second joueur.
+            playRound(database, alice, 500, 1_000, RoundResult.WIN); // Gain.
+            playRound(database, bob, 300, 0, RoundResult.LOSE); // Perte.
+            playRound(database, alice, 200, 200, RoundResult.PUSH); // Égalité.
+            try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + dbPath); Statement st = c.createStatement()) { // Hors du pool.
+                st.executeUpdate("UPDATE txn SET created_at = datetime('now', '-40 days')"); // Tout l'historique devient ancien.
+            }
+            List<DatabaseService.LedgerEntry> aliceBefore = live(database, alice); // Historique ancien d'alice, tel que relu avant compactage.
+            int bobRows = live(database, bob).size(); // Historique ancien de bob.
+            playRound(database, alice, 100, 0, RoundResult.LOSE); // Ligne récente, conservée en base.
+
+            LedgerCompactor.Result result = database.ledgerCompactor().compact(30, archives); // Archive ce qui a plus de 30 jours.
+            assertEquals(aliceBefore.size() + bobRows, result.rows()); // Toutes les lignes anciennes archivées, aucune récente.
+            assertNull(database.ledgerCompactor().compact(30, archives)); // Rien de nouveau à archiver.
+
+            assertEquals(database.getBalance(alice), database.ledgerCompactor().reconstructBalance(alice)); // Point de contrôle + lignes vivantes.
+            assertEquals(database.getBalance(bob), database.ledgerCompactor().reconstructBalance(bob)); // Joueur sans ligne vivante.
+            assertEquals(10_000 + 500 - 100, database.getBalance(alice)); // Solde attendu.
+
+            List<DatabaseService.LedgerEntry> archived = new ArrayList<>(); // Lignes relues depuis les archives.
+            database.ledgerCompactor().archivedEntries(alice, archives, archived::add); // Décompresse les archives.
+            assertEquals(aliceBefore, archived); // Identiques aux lignes d'origine.
+            List<DatabaseService.LedgerEntry> remaining = live(database, alice); // Grand livre vivant.
+            assertEquals(2, remaining.size()); // Mise et règlement de la manche récente.
+            assertEquals(database.getBalance(alice), remaining.getLast().after()); // La dernière ligne vivante porte le solde.
+
+            playRound(database, alice, 1_000, 2_500, RoundResult.WIN); // Mouvement après compactage.
+            assertEquals(database.getBalance(alice), database.ledgerCompactor().reconstructBalance(alice)); // Toujours cohérent.
+        }
+    }
+}
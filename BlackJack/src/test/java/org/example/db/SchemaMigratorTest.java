@@ -0,0 +1,144 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import org.junit.jupiter.api.Test; // Importe l'annotation de test JUnit.
+import org.junit.jupiter.api.io.TempDir; // Importe le dossier temporaire JUnit.
+
+import java.io.IOException; // Importe IOException de la lecture du script.
+import java.io.InputStream; // Importe InputStream pour lire le script V1.
+import java.io.UncheckedIOException; // Importe l'enveloppe des erreurs de lecture.
+import java.nio.charset.StandardCharsets; // Importe l'encodage des scripts.
+import java.nio.file.Path; // Importe Path pour le fichier de test.
+import java.sql.ResultSet; // Importe ResultSet pour lire user_version.
+import java.sql.Statement; // Importe Statement pour le pragma.
+import java.util.ArrayList; // Importe ArrayList pour relire le grand livre.
+import java.util.List; // Importe List pour les lignes relues.
+
+import static org.junit.jupiter.api.Assertions.assertEquals; // Importe la comparaison de valeurs.
+import static org.junit.jupiter.api.Assertions.assertFalse; // Importe la vérification négative.
+import static org.junit.jupiter.api.Assertions.assertTrue; // Importe la vérification booléenne.
+
+class SchemaMigratorTest { // Vérifie que les migrations sont idempotentes et montent une base ancienne.
+    private static final String V1_SCRIPT = "/db/migration/V1__init.sql"; // Schéma initial versionné.
+    private static final String LEGACY_TRIGGER = """
+            CREATE TRIGGER trg_tx_commit
+            AFTER INSERT ON txn
+            BEGIN
+              UPDATE wallet SET solde_actuel = NEW.solde_apres, updated_at = datetime('now') WHERE id_utilisateur = NEW.id_utilisateur;
+            END;
+            """; // Trigger de recopie du schéma d'avant les migrations.
+
+    @TempDir
+    Path dir; // Dossier supprimé après chaque test.
+
+    private static int userVersion(ConnectionPool pool) { // Lit PRAGMA user_version sur l'écrivain.
+        return pool.write(connection -> { // Même connexion que le migrateur.
+            try (Statement st = connection.raw().createStatement(); ResultSet rs = st.executeQuery("PRAGMA user_version")) { // Exécute le pragma.
+                return rs.getInt(1); // Retourne la version.
+            }
+        });
+    }
+
+    private static void execute(ConnectionPool pool, String... statements) { // Exécute des instructions brutes dans une transaction.
+        pool.transaction(connection -> { // Sur l'écrivain.
+            try (Statement st = connection.raw().createStatement()) { // Statement dédié.
+                for (String sql : statements) { // Chaque instruction.
+                    st.executeUpdate(sql); // L'exécute.
+                }
+            }
+            return null; // Aucun résultat.
+        });
+    }
+
+    private static String[] versionOne() { // Instructions du script V1 tel que livré.
+        try (InputStream in = SchemaMigratorTest.class.getResourceAsStream(V1_SCRIPT)) { // Ouvre la ressource.
+            return SchemaMigrator.split(new String(in.readAllBytes(), StandardCharsets.UTF_8)).toArray(String[]::new); // Même découpage que le migrateur.
+        } catch (IOException e) { // Lecture impossible.
+            throw new UncheckedIOException(e); // Fait échouer le test.
+        }
+    }
+
+    private static void seedHistory(ConnectionPool pool) { // Un joueur, deux manches réglées et son grand livre, écrits comme l'application d'alors.
+        execute(pool,
+                "INSERT INTO utilisateur(email, pseudo, hash_mdp) VALUES ('ancien@test.fr', 'ancien', '$2a$10$hash-de-test')", // Le trigger crée portefeuille et ligne INIT.
+                "INSERT INTO session_jeu(id_utilisateur, date_fin, mise_totale, gain_total, resultat) VALUES (1, datetime('now'), 500, 1000, 'WIN')", // Manche gagnée.
+                "INSERT INTO session_jeu(id_utilisateur, date_fin, mise_totale, gain_total, resultat) VALUES (1, datetime('now'), 200, 0, 'LOSE')", // Manche perdue.
+                "INSERT INTO txn(id_utilisateur, id_session, type, montant, solde_avant, solde_apres, note) VALUES (1, 1, 'BET', -500, 10000, 9500, 'Mise')", // Mise.
+                "INSERT INTO txn(id_utilisateur, id_session, type, montant, solde_avant, solde_apres, note) VALUES (1, 1, 'PAYOUT', 1000, 9500, 10500, 'Gain')", // Gain.
+                "INSERT INTO txn(id_utilisateur, id_session, type, montant, solde_avant, solde_apres, note) VALUES (1, 2, 'BET', -200, 10500, 10300, 'Mise')", // Mise perdue.
+                "UPDATE wallet SET solde_actuel = 10300 WHERE id_utilisateur = 1"); // Solde courant.
+    }
+
+    private static boolean exists(ConnectionPool pool, String type, String name) { // Présence d'un objet du schéma.
+        return pool.write(connection -> { // Lit sqlite_master.
+            try (Statement st = connection.raw().createStatement();
+                 ResultSet rs = st.executeQuery("SELECT count(*) FROM sqlite_master WHERE type='" + type + "' AND name='" + name + "'")) { // Noms fixes du test.
+                return rs.getInt(1) == 1; // Vrai si l'objet existe.
+            }
+        });
+    }
+
+    private void assertHistoryCarriedOver(String path) { // Relit la base migrée par l'API de l'application.
+        try (DatabaseService database = new DatabaseService(path, PoolConfig.defaults())) { // Aucune migration restante.
+            assertEquals(10_300, database.getBalance(1)); // Solde conservé.
+            assertEquals(new DatabaseService.UserStats(2, 1, 1, 0, 700, 300, 500), database.findUserStats(1)); // Statistiques reprises par V3.
+            List<DatabaseService.LedgerEntry> ledger = new ArrayList<>(); // Lignes relues.
+            database.ledgerPage(1, null, 10, ledger::add); // Historique paginé.
+            assertEquals(4, ledger.size()); // INIT, deux mises et un gain.
+        }
+    }
+
+    @Test
+    void migrateTwiceKeepsLatestVersion() { // Une seconde passe ne rejoue aucun script.
+        try (ConnectionPool pool = new ConnectionPool(dir.resolve("schema.db").toString(), PoolConfig.defaults())) { // Base neuve.
+            SchemaMigrator migrator = new SchemaMigrator(pool); // Migrateur testé.
+            assertEquals(SchemaMigrator.latestVersion(), migrator.migrate()); // Première passe : tous les scripts.
+            assertEquals(SchemaMigrator.latestVersion(), migrator.migrate()); // Seconde passe : rien à faire.
+            assertEquals(SchemaMigrator.latestVersion(), userVersion(pool)); // Version enregistrée inchangée.
+        }
+    }
+
+    @Test
+    void reopeningExistingDatabaseKeepsData() { // Relancer l'application sur une base existante ne perd rien.
+        String path = dir.resolve("existing.db").toString(); // Fichier partagé par les deux ouvertures.
+        long userId; // Joueur créé à la première ouverture.
+        try (DatabaseService first = new DatabaseService(path, PoolConfig.defaults())) { // Première ouverture : migrations complètes.
+            userId = first.createUserHashed("existant@test.fr", "existant", "$2a$10$hash-de-test"); // Donnée à conserver.
+            first.placeBet(userId, first.startSession(userId), 300); // Grand livre non vide.
+        }
+        try (DatabaseService second = new DatabaseService(path, PoolConfig.defaults())) { // Seconde ouverture : schéma déjà à jour.
+            assertEquals(10_000 - 300, second.getBalance(userId)); // Solde conservé.
+            assertEquals(userId, second.findUserByEmail("existant@test.fr").id()); // Compte conservé.
+        }
+        try (ConnectionPool pool = new ConnectionPool(path, PoolConfig.defaults())) { // Relit l'en-tête.
+            assertEquals(SchemaMigrator.latestVersion(), userVersion(pool)); // Toujours à la dernière version.
+        }
+    }
+
+    @Test
+    void upgradesVersionOneDatabase() { // Une base restée à V1, avec son historique, reçoit les scripts suivants.
+        String path = dir.resolve("v1.db").toString(); // Fichier de la base ancienne.
+        try (ConnectionPool pool = new ConnectionPool(path, PoolConfig.defaults())) { // Installation d'époque.
+            execute(pool, versionOne()); // Seul le schéma V1 existe.
+            execute(pool, "PRAGMA user_version = 1"); // En-tête d'une base V1.
+            seedHistory(pool); // Historique écrit avant V2.
+            assertEquals(SchemaMigrator.latestVersion(), new SchemaMigrator(pool).migrate()); // Applique V2 et suivants.
+            assertEquals(SchemaMigrator.latestVersion(), userVersion(pool)); // Version finale enregistrée.
+            assertFalse(exists(pool, "index", "idx_tx_user_date")); // Index V1 remplacé par celui de l'historique paginé.
+            assertTrue(exists(pool, "table", "login_token")); // Dernières tables créées.
+        }
+        assertHistoryCarriedOver(path); // L'application relit l'historique migré.
+    }
+
+    @Test
+    void adoptsDatabaseCreatedBeforeMigrations() { // Base d'avant les migrations (user_version 0, trigger de recopie).
+        String path = dir.resolve("legacy.db").toString(); // Fichier de la base historique.
+        try (ConnectionPool pool = new ConnectionPool(path, PoolConfig.defaults())) { // Installation historique.
+            execute(pool, versionOne()); // Mêmes tables que l'ancien ensureSchema.
+            execute(pool, "DROP INDEX idx_tx_user_date", "DROP INDEX idx_sess_user_date", LEGACY_TRIGGER, "PRAGMA user_version = 0"); // Pas d'index, trigger de recopie, aucune version.
+            seedHistory(pool); // Historique écrit par l'ancienne application.
+            assertEquals(SchemaMigrator.latestVersion(), new SchemaMigrator(pool).migrate()); // V1 adopte les tables existantes.
+            assertFalse(exists(pool, "trigger", "trg_tx_commit")); // Le solde n'est plus recopié par trigger.
+        }
+        assertHistoryCarriedOver(path); // L'application relit l'historique migré.
+    }
+}
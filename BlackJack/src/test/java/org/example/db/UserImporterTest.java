@@ -0,0 +1,56 @@
+package org.example.db; // Déclare le package dédié aux opérations base de données.
+
+import org.junit.jupiter.api.Test; // Importe l'annotation de test JUnit.
+import org.junit.jupiter.api.io.TempDir; // Importe le dossier temporaire JUnit.
+import org.mindrot.jbcrypt.BCrypt; // Importe BCrypt pour vérifier les hash importés.
+
+import java.io.StringReader; // Importe StringReader pour le CSV en mémoire.
+import java.nio.file.Path; // Importe Path pour le fichier de test.
+import java.util.ArrayList; // Importe ArrayList pour les notifications de progression.
+import java.util.List; // Importe List pour les notifications de progression.
+
+import static org.junit.jupiter.api.Assertions.assertEquals; // Importe la comparaison de valeurs.
+import static org.junit.jupiter.api.Assertions.assertNull; // Importe la vérification de nullité.
+import static org.junit.jupiter.api.Assertions.assertTrue; // Importe la vérification booléenne.
+
+class UserImporterTest { // Vérifie les compteurs d'un import CSV de comptes.
+    private static final int COST = 4; // Coût bcrypt minimal : le hachage n'est pas l'objet du test.
+
+    @TempDir
+    Path dir; // Dossier supprimé après chaque test.
+
+    @Test
+    void importCountsInsertedDuplicateAndRejectedRows() { // Chaque ligne lue est créée, ignorée ou refusée.
+        String csv = """
+                email,pseudo,mot_de_passe
+                alice@test.fr,alice,secret,avec,virgules
+                bob@test.fr,bob,motdepasse
+
+                existant@test.fr,existant,autre
+                alice@test.fr,alice2,doublon
+                pas-un-email,carol,secret
+                dave@test.fr,,secret
+                erin@test.fr,erin,
+                frank@test.fr,frank
+                """; // En-tête, ligne vide, doublons en base et dans le fichier, quatre lignes invalides.
+        try (DatabaseService database = new DatabaseService(dir.resolve("import.db").toString(), PoolConfig.defaults())) { // Schéma complet.
+            database.createUserHashed("existant@test.fr", "existant", "$2a$10$hash-de-test"); // Compte déjà présent.
+            List<DatabaseService.ImportProgress> notified = new ArrayList<>(); // Progression reçue.
+            DatabaseService.ImportProgress done = database.importUsers(new StringReader(csv), COST, notified::add); // Import.
+
+            assertEquals(8, done.read()); // En-tête et ligne vide non comptés.
+            assertEquals(2, done.inserted()); // alice et bob.
+            assertEquals(2, done.skipped()); // Email déjà en base et doublon du fichier.
+            assertEquals(4, done.rejected()); // Email invalide, pseudo vide, mot de passe vide, colonne manquante.
+            assertEquals(done.read(), done.inserted() + done.skipped() + done.rejected()); // Aucune ligne perdue.
+            assertEquals(1, notified.size()); // Un seul lot validé.
+            assertEquals(done.inserted(), notified.getFirst().inserted()); // Progression à jour après le lot.
+
+            DatabaseService.UserCredentials alice = database.findUserByEmail("alice@test.fr"); // Compte importé.
+            assertTrue(BCrypt.checkpw("secret,avec,virgules", alice.hash())); // Le mot de passe garde ses virgules.
+            assertEquals(10_000, database.getBalance(alice.id())); // Portefeuille créé par le trigger.
+            assertEquals("$2a$10$hash-de-test", database.findUserByEmail("existant@test.fr").hash()); // Compte existant intact.
+            assertNull(database.findUserByEmail("dave@test.fr")); // Ligne refusée : aucun compte.
+        }
+    }
+}
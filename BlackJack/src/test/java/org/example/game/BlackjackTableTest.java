@@ -0,0 +1,95 @@
+package org.example.game; // Déclare le package métier du jeu.
+
+import org.junit.jupiter.api.Test; // Importe l'annotation de test JUnit.
+
+import java.util.HashSet; // Importe HashSet pour détecter les doublons.
+import java.util.List; // Importe List pour comparer la main du croupier.
+import java.util.Set; // Importe Set pour les cartes d'une manche.
+
+import static org.junit.jupiter.api.Assertions.assertEquals; // Importe la comparaison de valeurs.
+import static org.junit.jupiter.api.Assertions.assertThrows; // Importe la vérification d'exception.
+import static org.junit.jupiter.api.Assertions.assertTrue; // Importe la vérification booléenne.
+
+class BlackjackTableTest { // Vérifie l'ordre de jeu et l'approvisionnement du sabot partagé.
+    private static Shoe seeded(int decks, long seed) { // Sabot rejouable.
+        return new Shoe(decks, Shoe.DEFAULT_PENETRATION, StandardRng.SPLITTABLE, () -> seed); // Graine constante à chaque mélange.
+    }
+
+    private static int firstPlayingSeat(BlackjackTable table) { // Place encore en jeu, ou -1.
+        for (int i = 0; i < table.seatCount(); i++) { // Parcourt les places.
+            if (!table.isSeatDone(i)) { // Place ouverte.
+                return i; // Retourne son index.
+            }
+        }
+        return -1; // Toutes les places ont fini.
+    }
+
+    @Test
+    void dealerWaitsForEverySeat() { // Le croupier ne joue pas tant qu'une place est ouverte.
+        BlackjackTable table = new BlackjackTable(seeded(6, 1L)); // Table de six paquets.
+        table.start(BlackjackTable.MAX_SEATS); // Sept places.
+        int seat = firstPlayingSeat(table); // Place sans blackjack naturel.
+        assertTrue(seat >= 0); // La graine laisse au moins une place en jeu.
+        List<Card> before = List.copyOf(table.dealerHand().cards()); // Main visible avant la tentative.
+        assertThrows(IllegalStateException.class, table::playDealerTurn); // Refusé : une place joue encore.
+        assertThrows(IllegalStateException.class, () -> table.settleAll(new int[BlackjackTable.MAX_SEATS])); // Règlement refusé aussi.
+        assertEquals(before, table.dealerHand().cards()); // Le croupier n'a rien tiré.
+    }
+
+    @Test
+    void seatsCannotActAfterDealerTurn() { // Aucune place ne tire après avoir vu la main du croupier.
+        BlackjackTable table = new BlackjackTable(seeded(6, 2L)); // Table de six paquets.
+        table.start(2); // Deux places.
+        for (int seat = firstPlayingSeat(table); seat >= 0; seat = firstPlayingSeat(table)) { // Ferme chaque place ouverte.
+            table.stand(seat); // La place reste.
+        }
+        table.playDealerTurn(); // Le croupier joue.
+        for (int seat = 0; seat < table.seatCount(); seat++) { // Chaque place.
+            int s = seat; // Copie pour la lambda.
+            assertThrows(IllegalStateException.class, () -> table.hit(s)); // Tirage refusé.
+            assertThrows(IllegalStateException.class, () -> table.stand(s)); // Action refusée.
+        }
+    }
+
+    @Test
+    void naturalSeatIsClosedAtDeal() { // Un blackjack naturel n'a aucune décision à prendre.
+        for (long seed = 0; seed < 200; seed++) { // Cherche des distributions avec un naturel.
+            BlackjackTable table = new BlackjackTable(seeded(6, seed)); // Table rejouable.
+            table.start(BlackjackTable.MAX_SEATS); // Sept places.
+            for (int seat = 0; seat < table.seatCount(); seat++) { // Chaque place.
+                assertEquals(table.seatHand(seat).total() == 21, table.isSeatDone(seat)); // Fermée si et seulement si 21 d'entrée.
+            }
+        }
+    }
+
+    @Test
+    void singleDeckFullTableNeverRedealsACard() { // Un paquet et sept places : aucune carte deux fois dans une manche.
+        BlackjackTable table = new BlackjackTable(seeded(1, 3L)); // Sabot d'un paquet : chaque instance est unique.
+        int[] bets = new int[BlackjackTable.MAX_SEATS]; // Mises nulles : seul le déroulé compte.
+        for (int round = 0; round < 2_000; round++) { // Nombreuses manches pour traverser la carte de coupe.
+            table.start(BlackjackTable.MAX_SEATS); // Sept places.
+            for (int seat = firstPlayingSeat(table); seat >= 0; seat = firstPlayingSeat(table)) { // Chaque place tire jusqu'à 21 ou plus.
+                table.hit(seat); // Consomme le plus de cartes possible.
+            }
+            table.settleAll(bets); // Le croupier joue puis règle.
+            Set<Card> seen = new HashSet<>(); // Cartes de la manche.
+            assertTrue(seen.add(table.hiddenCard())); // Carte cachée.
+            for (Card card : table.dealerHand().cards()) { // Main du croupier.
+                assertTrue(seen.add(card), "manche " + round + " : " + card + " en double"); // Jamais redistribuée.
+            }
+            for (int seat = 0; seat < table.seatCount(); seat++) { // Mains des places.
+                for (Card card : table.seatHand(seat).cards()) { // Cartes de la place.
+                    assertTrue(seen.add(card), "manche " + round + " : " + card + " en double"); // Jamais redistribuée.
+                }
+            }
+            assertEquals(table.roundSeed().offset() + seen.size(), table.shoe().dealt()); // Manche servie d'un trait, sans épuiser le sabot.
+        }
+    }
+
+    @Test
+    void worstCaseFitsEveryShoeSize() { // La borne tient dans un sabot fraîchement mélangé.
+        for (int decks = Shoe.MIN_DECKS; decks <= Shoe.MAX_DECKS; decks++) { // Chaque taille de sabot.
+            assertTrue(BlackjackTable.worstCaseCards(decks, BlackjackTable.MAX_SEATS) <= decks * Card.COUNT); // Toujours jouable.
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.game; // Déclare le package métier du jeu.
+
+import org.junit.jupiter.api.Test; // Importe l'annotation de test JUnit.
+
+import static org.junit.jupiter.api.Assertions.assertEquals; // Importe la comparaison de valeurs.
+import static org.junit.jupiter.api.Assertions.assertSame; // Importe la comparaison d'identité.
+import static org.junit.jupiter.api.Assertions.assertThrows; // Importe la vérification d'exception.
+
+class CardTest { // Vérifie le jeu canonique des 52 cartes partagées.
+    @Test
+    void factoriesReturnSharedInstances() { // Toutes les fabriques mènent à la même instance.
+        for (int i = 0; i < Card.COUNT; i++) { // Parcourt le jeu canonique.
+            Card card = Card.byIndex(i); // Carte de référence.
+            assertEquals(i, card.index()); // L'index compact fait l'aller-retour.
+            assertSame(card, Card.of(card.rank(), card.suitIndex())); // Fabrique par ordinaux.
+            assertSame(card, Card.of(card.value(), card.suit())); // Fabrique par libellés historiques.
+        }
+    }
+
+    @Test
+    void pointsFollowBlackjackTable() { // Points précalculés : as à 11, figures à 10.
+        assertEquals(11, Card.of("A", "S").points()); // As.
+        assertEquals(7, Card.of("7", "H").points()); // Carte numérotée.
+        for (String figure : new String[] {"10", "J", "Q", "K"}) { // Dix et figures.
+            Card card = Card.of(figure, "C"); // Carte de trèfle.
+            assertEquals(10, card.points()); // Vaut 10.
+            assertEquals(9, card.category()); // Regroupée dans la catégorie des dix.
+        }
+    }
+
+    @Test
+    void labelAndImagePathArePrecomputed() { // Libellé et chemin gardent le format historique.
+        Card card = Card.of("10", "D"); // Dix de carreau.
+        assertEquals("10-D", card.toString()); // Libellé valeur-couleur.
+        assertEquals("/card/10-D.png", card.imagePath()); // Ressource PNG.
+    }
+
+    @Test
+    void unknownLabelsAreRejected() { // Les libellés inconnus ne créent pas de carte.
+        assertThrows(IllegalArgumentException.class, () -> Card.of("1", "S")); // Rang inconnu.
+        assertThrows(IllegalArgumentException.class, () -> Card.of("A", "X")); // Couleur inconnue.
+        assertThrows(IndexOutOfBoundsException.class, () -> Card.byIndex(Card.COUNT)); // Index hors jeu.
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.game; // Déclare le package métier du jeu.
+
+import org.junit.jupiter.api.Test; // Importe l'annotation de test JUnit.
+
+import static org.junit.jupiter.api.Assertions.assertEquals; // Importe la comparaison de valeurs.
+import static org.junit.jupiter.api.Assertions.assertTrue; // Importe la vérification booléenne.
+
+class DealerOddsTest { // Vérifie la distribution exacte des issues du croupier.
+    private static final double EPSILON = 1e-12; // Tolérance sur les sommes de probabilités.
+
+    private static int[] shoeWithout(int decks, int upCategory) { // Composition d'un sabot neuf privé de la carte visible.
+        int[] counts = new int[DealerOdds.CATEGORIES]; // Prépare les compteurs.
+        for (int i = 0; i < Card.COUNT; i++) { // Parcourt le jeu canonique.
+            counts[Card.byIndex(i).category()] += decks; // Une carte par paquet.
+        }
+        counts[upCategory]--; // Retire la carte visible.
+        return counts; // Retourne la composition.
+    }
+
+    private static double sum(double[] distribution) { // Somme des probabilités.
+        double total = 0; // Cumul.
+        for (double p : distribution) { // Parcourt les issues.
+            assertTrue(p >= 0); // Aucune probabilité négative.
+            total += p; // Cumule.
+        }
+        return total; // Retourne la somme.
+    }
+
+    @Test
+    void distributionSumsToOneForEveryUpCard() { // Les sept issues couvrent tous les tirages possibles.
+        DealerOdds odds = new DealerOdds(); // Calculateur à mémorisation.
+        for (int decks : new int[] {1, Shoe.DEFAULT_DECKS}) { // Sabot court et sabot de table.
+            for (int up = 0; up < DealerOdds.CATEGORIES; up++) { // Chaque carte visible.
+                double[] d = odds.distribution(shoeWithout(decks, up), up); // Distribution exacte.
+                assertEquals(DealerOdds.OUTCOMES, d.length); // Une case par issue.
+                assertEquals(1.0, sum(d), EPSILON, "decks=" + decks + " up=" + up); // Somme à 1.
+            }
+        }
+    }
+
+    @Test
+    void naturalOnlyWithAceOrTenUp() { // Le blackjack croupier exige un as ou un dix visible.
+        DealerOdds odds = new DealerOdds(); // Calculateur à mémorisation.
+        int[] counts = shoeWithout(1, 9); // Dix visible sur un paquet.
+        double expected = (double) counts[0] / 51; // Probabilité que la carte cachée soit un as.
+        assertEquals(expected, odds.distribution(counts, 9)[DealerOdds.BLACKJACK], EPSILON); // Seule la carte suivante compte.
+        for (int up = 1; up < 9; up++) { // Cartes visibles de 2 à 9.
+            assertEquals(0.0, odds.distribution(shoeWithout(1, up), up)[DealerOdds.BLACKJACK]); // Aucun blackjack possible.
+        }
+    }
+
+    @Test
+    void unseenCompositionOfLiveRoundSumsToOne() { // Composition vue du joueur en cours de manche.
+        BlackjackRound round = new BlackjackRound(new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, StandardRng.SPLITTABLE, () -> 5L)); // Sabot rejouable.
+        round.start(); // Distribution initiale.
+        int up = round.dealerHand().cards().get(0).category(); // Catégorie de la carte visible.
+        assertEquals(1.0, sum(new DealerOdds().distribution(DealerOdds.unseenCounts(round), up)), EPSILON); // Somme à 1.
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.game; // Déclare le package métier du jeu.
+
+import org.junit.jupiter.api.Test; // Importe l'annotation de test JUnit.
+
+import java.util.List; // Importe List pour comparer les mains.
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals; // Importe la comparaison de tableaux.
+import static org.junit.jupiter.api.Assertions.assertEquals; // Importe la comparaison de valeurs.
+
+class ShoeSeedTest { // Vérifie qu'une graine enregistrée rejoue exactement la même distribution.
+    private static Shoe seeded(long seed) { // Sabot rejouable amorcé par une graine fixe.
+        return new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, StandardRng.SPLITTABLE, () -> seed); // Graine constante à chaque mélange.
+    }
+
+    private static Card[] draw(Shoe shoe, int count) { // Tire count cartes dans l'ordre.
+        Card[] cards = new Card[count]; // Prépare le résultat.
+        for (int i = 0; i < count; i++) { // Parcourt les tirages.
+            cards[i] = shoe.draw(); // Enregistre la carte.
+        }
+        return cards; // Retourne la séquence.
+    }
+
+    @Test
+    void sameSeedDealsSameCards() { // Deux sabots de même graine distribuent la même séquence.
+        assertArrayEquals(draw(seeded(42L), 60), draw(seeded(42L), 60)); // Séquences identiques.
+    }
+
+    @Test
+    void snapshotReplaysFromItsOffset() { // Un instantané pris en cours de sabot rejoue la suite.
+        Shoe shoe = seeded(7L); // Sabot d'origine.
+        draw(shoe, 13); // Avance dans le sabot.
+        ShoeSeed recorded = shoe.snapshot(); // Position enregistrée.
+        Card[] expected = draw(shoe, 20); // Cartes réellement distribuées ensuite.
+        assertArrayEquals(expected, recorded.cards(20)); // Le rejeu retrouve les mêmes cartes.
+    }
+
+    @Test
+    void encodedSeedRoundTrips() { // La forme texte stockée en base relit le même sabot.
+        for (StandardRng rng : StandardRng.values()) { // Chaque générateur livré.
+            ShoeSeed recorded = new ShoeSeed(rng, -3L, 4, 17); // Graine négative : encodage non signé.
+            ShoeSeed parsed = ShoeSeed.parse(recorded.encode()); // Aller-retour texte.
+            assertEquals(recorded, parsed); // Champs identiques.
+            assertArrayEquals(recorded.cards(10), parsed.cards(10)); // Même distribution.
+        }
+    }
+
+    @Test
+    void roundReplayDealsSameHands() { // Une manche rejouée depuis sa graine retrouve les mains et les tirages.
+        BlackjackRound round = new BlackjackRound(seeded(99L)); // Manche d'origine.
+        round.start(); // Distribution initiale.
+        round.start(); // Deuxième manche : position non nulle dans le sabot.
+        ShoeSeed recorded = ShoeSeed.parse(round.roundSeed().encode()); // Graine telle que relue depuis session_jeu.
+        List<Card> player = List.copyOf(round.playerHand().cards()); // Main du joueur.
+        List<Card> dealer = List.copyOf(round.dealerHand().cards()); // Carte visible du croupier.
+        Card hidden = round.hiddenCard(); // Carte cachée.
+        Card hit = round.playerHit(); // Tirage suivant.
+
+        BlackjackRound replay = BlackjackRound.replay(recorded); // Manche rejouée.
+        assertEquals(player, replay.playerHand().cards()); // Même main joueur.
+        assertEquals(dealer, replay.dealerHand().cards()); // Même carte visible.
+        assertEquals(hidden, replay.hiddenCard()); // Même carte cachée.
+        assertEquals(hit, replay.playerHit()); // Même tirage suivant.
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.game; // Déclare le package métier du jeu.
+
+import org.junit.jupiter.api.Test; // Importe l'annotation de test JUnit.
+
+import java.util.HashSet; // Importe HashSet pour détecter les doublons.
+import java.util.Set; // Importe Set pour les cartes distribuées.
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals; // Importe la comparaison de tableaux.
+import static org.junit.jupiter.api.Assertions.assertEquals; // Importe la comparaison de valeurs.
+import static org.junit.jupiter.api.Assertions.assertFalse; // Importe la vérification négative.
+import static org.junit.jupiter.api.Assertions.assertThrows; // Importe la vérification d'exception.
+import static org.junit.jupiter.api.Assertions.assertTrue; // Importe la vérification booléenne.
+
+class ShoeTest { // Vérifie la carte de coupe et l'épuisement du sabot en cours de manche.
+    private static Shoe singleDeck(double penetration) { // Sabot d'un paquet : chaque instance de carte y est unique.
+        return new Shoe(1, penetration, StandardRng.SPLITTABLE, () -> 11L); // Graine fixe.
+    }
+
+    private static Card[] draw(Shoe shoe, int count) { // Tire count cartes dans l'ordre.
+        Card[] cards = new Card[count]; // Prépare le résultat.
+        for (int i = 0; i < count; i++) { // Parcourt les tirages.
+            cards[i] = shoe.draw(); // Enregistre la carte.
+        }
+        return cards; // Retourne la séquence.
+    }
+
+    @Test
+    void cutCardTriggersShuffle() { // Le mélange est demandé à la carte de coupe, pas avant.
+        Shoe shoe = new Shoe(Shoe.DEFAULT_DECKS, Shoe.DEFAULT_PENETRATION, StandardRng.SPLITTABLE, () -> 3L); // Sabot de table.
+        draw(shoe, shoe.cutIndex() - 1); // Juste avant la coupe.
+        assertFalse(shoe.needsShuffle()); // Pas encore.
+        shoe.draw(); // Atteint la coupe.
+        assertTrue(shoe.needsShuffle()); // Mélange attendu.
+        shoe.shuffle(); // Remélange complet.
+        assertEquals(shoe.size(), shoe.remaining()); // Toutes les cartes reviennent.
+    }
+
+    @Test
+    void exhaustionNeverRedealsCardsOnTheTable() { // Seule la défausse est remélangée en cours de manche.
+        Shoe shoe = singleDeck(1.0); // Pénétration totale : l'épuisement est atteignable.
+        draw(shoe, 40); // Manches précédentes.
+        shoe.beginRound(); // Nouvelle manche à 12 cartes de la fin.
+        Set<Card> round = new HashSet<>(); // Cartes de la manche.
+        for (Card card : draw(shoe, 30)) { // Dépasse la fin du sabot.
+            assertTrue(round.add(card), "carte distribuée deux fois : " + card); // Aucune carte en double.
+        }
+        assertTrue(shoe.needsShuffle()); // Mélange complet avant la manche suivante.
+    }
+
+    @Test
+    void roundConsumingWholeShoeFails() { // Sans défausse, rien ne peut revenir dans le sabot.
+        Shoe shoe = singleDeck(1.0); // Un seul paquet.
+        shoe.beginRound(); // Manche en tête de sabot.
+        draw(shoe, Card.COUNT); // Vide le sabot.
+        assertThrows(IllegalStateException.class, shoe::draw); // Refuse de redistribuer la table.
+    }
+
+    @Test
+    void recycledRoundReplays() { // Une manche qui a remélangé la défausse se rejoue à l'identique.
+        Shoe shoe = singleDeck(1.0); // Pénétration totale.
+        draw(shoe, 45); // Manches précédentes.
+        ShoeSeed recorded = shoe.beginRound(); // Graine de la manche.
+        Card[] dealt = draw(shoe, 20); // Traverse l'épuisement.
+        assertArrayEquals(dealt, recorded.cards(20)); // Même séquence au rejeu.
+    }
+}